@@ -0,0 +1,20 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// Immutable snapshot taken on the request thread; the client IP must be resolved there
+@Getter
+@Builder
+@AllArgsConstructor
+public class AuditEvent {
+
+    private final AuditEventType type;
+    private final String username;
+    private final String ipAddress;
+    private final String detail;
+    private final Instant occurredAt;
+}
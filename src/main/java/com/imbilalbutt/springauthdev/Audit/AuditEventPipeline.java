@@ -0,0 +1,248 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves audit formatting and I/O off the request thread. Events are published into a
+ * lock-free ring buffer and a single background writer drains them to the sinks in batches.
+ * Every call into the sinks is made under one lock, so a sink never has two callers at once, even
+ * when events are written on request threads (pipeline disabled or stopped).
+ */
+@Component
+@Slf4j
+public class AuditEventPipeline implements MeterBinder {
+
+    private final List<AuditEventSink> sinks;
+    private final boolean enabled;
+    private final AuditRingBuffer buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final int sampleRate;
+    private final int highWaterMark;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder droppedOverflow = new LongAdder();
+    private final LongAdder droppedSampling = new LongAdder();
+    private final LongAdder sinkErrors = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private volatile long lagMillis;
+
+    private volatile boolean running;
+    // Set by the writer once it has stopped consuming; from then on publishers drain the buffer themselves
+    private volatile boolean writerDone;
+    // Held around every dispatch to the sinks
+    private final Object drainLock = new Object();
+    private Thread writer;
+
+    public AuditEventPipeline(List<AuditEventSink> sinks,
+                              @Value("${audit.pipeline.enabled:true}") boolean enabled,
+                              @Value("${audit.pipeline.capacity:8192}") int capacity,
+                              @Value("${audit.pipeline.batch-size:256}") int batchSize,
+                              @Value("${audit.pipeline.flush-interval-ms:50}") long flushIntervalMs,
+                              @Value("${audit.pipeline.overflow-policy:DROP}") AuditOverflowPolicy overflowPolicy,
+                              @Value("${audit.pipeline.block-timeout-ms:5}") long blockTimeoutMs,
+                              @Value("${audit.pipeline.sample-rate:10}") int sampleRate) {
+        this.sinks = sinks;
+        this.enabled = enabled;
+        this.buffer = new AuditRingBuffer(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.sampleRate = Math.max(1, sampleRate);
+        this.highWaterMark = buffer.capacity() - buffer.capacity() / 4;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Audit pipeline disabled - events are written synchronously");
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (buffer.size() > 0) {
+            log.warn("Audit pipeline stopped with {} unwritten events", buffer.size());
+        }
+    }
+
+    public boolean publish(AuditEvent event) {
+        if (!running) {
+            // No writer to hand off to; still one caller at a time as far as the sinks can tell
+            synchronized (drainLock) {
+                dispatch(List.of(event));
+            }
+            written.incrementAndGet();
+            return true;
+        }
+
+        if (overflowPolicy == AuditOverflowPolicy.SAMPLE && buffer.size() >= highWaterMark
+                && sampleCounter.incrementAndGet() % sampleRate != 0) {
+            droppedSampling.increment();
+            return false;
+        }
+
+        boolean accepted = overflowPolicy == AuditOverflowPolicy.BLOCK
+                ? offerBlocking(event)
+                : buffer.offer(event);
+
+        if (accepted) {
+            published.increment();
+            // stop() may have begun after the running check above; make sure this event is not stranded
+            if (!running) {
+                drainAfterStop();
+            }
+        } else {
+            droppedOverflow.increment();
+        }
+        return accepted;
+    }
+
+    private boolean offerBlocking(AuditEvent event) {
+        if (buffer.offer(event)) {
+            return true;
+        }
+        LockSupport.unpark(writer);
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            if (buffer.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained == 0) {
+                // nothing is waiting, so nothing is late
+                lagMillis = 0;
+                if (!running) {
+                    writerDone = true;
+                    // picks up anything offered between the empty drain and the flag
+                    drainAfterStop();
+                    return;
+                }
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+
+            Instant oldest = batch.get(0).getOccurredAt();
+            lagMillis = Math.max(0, System.currentTimeMillis() - oldest.toEpochMilli());
+            // uncontended while the pipeline runs, since publishers only take it once it has stopped
+            synchronized (drainLock) {
+                dispatch(batch);
+            }
+            written.addAndGet(drained);
+            batch.clear();
+        }
+    }
+
+    // Publishers that raced with stop() and the exiting writer share the consumer side under a lock
+    private void drainAfterStop() {
+        if (!writerDone) {
+            return;
+        }
+        synchronized (drainLock) {
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            int drained;
+            while ((drained = buffer.drainTo(batch, batchSize)) > 0) {
+                dispatch(batch);
+                written.addAndGet(drained);
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<AuditEvent> batch) {
+        for (AuditEventSink sink : sinks) {
+            try {
+                sink.write(batch);
+            } catch (Exception e) {
+                sinkErrors.increment();
+                log.error("Audit sink {} failed to write {} events", sink.getClass().getSimpleName(), batch.size(), e);
+            }
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedOverflow.sum() + droppedSampling.sum();
+    }
+
+    public long getLagEvents() {
+        return buffer.size();
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.pipeline.lag.events", this, AuditEventPipeline::getLagEvents)
+                .description("Audit events waiting in the buffer")
+                .register(registry);
+        Gauge.builder("audit.pipeline.lag", this, AuditEventPipeline::getLagMillis)
+                .baseUnit("milliseconds")
+                .description("Age of the oldest event in the last written batch")
+                .register(registry);
+        FunctionCounter.builder("audit.pipeline.events.published", published, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("audit.pipeline.events.written", written, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("audit.pipeline.events.dropped", droppedOverflow, LongAdder::sum)
+                .tag("reason", "overflow")
+                .register(registry);
+        FunctionCounter.builder("audit.pipeline.events.dropped", droppedSampling, LongAdder::sum)
+                .tag("reason", "sampled")
+                .register(registry);
+        FunctionCounter.builder("audit.pipeline.sink.errors", sinkErrors, LongAdder::sum)
+                .register(registry);
+    }
+}
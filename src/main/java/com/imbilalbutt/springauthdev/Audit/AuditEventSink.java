@@ -0,0 +1,10 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import java.util.List;
+
+public interface AuditEventSink {
+
+    // Never called concurrently (AuditEventPipeline dispatches under one lock), but not always from the
+    // same thread: with the pipeline disabled or stopped, request threads write their own events
+    void write(List<AuditEvent> batch);
+}
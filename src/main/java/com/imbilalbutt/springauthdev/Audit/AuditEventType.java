@@ -0,0 +1,44 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import lombok.Getter;
+import org.slf4j.event.Level;
+
+@Getter
+public enum AuditEventType {
+    AUTH_SUCCESS(Level.INFO, "user", null),
+    AUTH_FAILURE(Level.WARN, "user", "reason"),
+    LOGOUT(Level.INFO, "user", null),
+    PASSWORD_CHANGE(Level.INFO, "user", null),
+    PASSWORD_RESET_REQUEST(Level.INFO, "email", null),
+    PASSWORD_RESET_SUCCESS(Level.INFO, "user", null),
+    EMAIL_VERIFIED(Level.INFO, "user", null),
+    ACCOUNT_LOCKED(Level.WARN, "user", "failedAttempts"),
+    ACCOUNT_UNLOCKED(Level.INFO, "user", null),
+    USER_REGISTERED(Level.INFO, "email", null),
+    SESSION_CREATED(Level.INFO, "user", "sessionId", DetailPosition.BEFORE_IP),
+    SESSION_INVALIDATED(Level.INFO, "user", "sessionId", DetailPosition.BEFORE_IP),
+    SUSPICIOUS_ACTIVITY(Level.ERROR, "user", "activity", DetailPosition.FIRST);
+
+    // Where the detail goes in the log line; each type keeps the field order it has always been logged with
+    public enum DetailPosition {
+        FIRST,
+        BEFORE_IP,
+        LAST
+    }
+
+    private final Level level;
+    private final String subjectKey;
+    private final String detailKey;
+    private final DetailPosition detailPosition;
+
+    AuditEventType(Level level, String subjectKey, String detailKey) {
+        this(level, subjectKey, detailKey, DetailPosition.LAST);
+    }
+
+    AuditEventType(Level level, String subjectKey, String detailKey, DetailPosition detailPosition) {
+        this.level = level;
+        this.subjectKey = subjectKey;
+        this.detailKey = detailKey;
+        this.detailPosition = detailPosition;
+    }
+}
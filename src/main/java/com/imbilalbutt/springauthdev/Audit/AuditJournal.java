@@ -0,0 +1,178 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary audit journal backed by memory-mapped, fixed-size segment files.
+ * Alternative to the audit_event table for nodes where a database write per event is too expensive.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.journal.enabled", havingValue = "true")
+@Slf4j
+public class AuditJournal implements AuditEventSink {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final int maxSegments;
+    private final boolean forceOnWrite;
+    private final List<AuditJournalSegment> segments = new CopyOnWriteArrayList<>();
+    // Appends, rollover and retention; readers go through the copy-on-write list without it
+    private final Object writeLock = new Object();
+
+    public AuditJournal(@Value("${audit.journal.directory:${LOG_PATH:logs}/audit-journal}") String directory,
+                        @Value("${audit.journal.segment-records:65536}") int segmentRecords,
+                        @Value("${audit.journal.max-segments:32}") int maxSegments,
+                        @Value("${audit.journal.force-on-write:false}") boolean forceOnWrite) throws IOException {
+        if (segmentRecords < 1 || (long) segmentRecords * AuditJournalSegment.RECORD_SIZE > Integer.MAX_VALUE - AuditJournalSegment.HEADER_SIZE) {
+            throw new IllegalArgumentException("audit.journal.segment-records must be between 1 and 8388607");
+        }
+        this.directory = Paths.get(directory);
+        this.segmentRecords = segmentRecords;
+        this.maxSegments = Math.max(1, maxSegments);
+        this.forceOnWrite = forceOnWrite;
+
+        Files.createDirectories(this.directory);
+        openExistingSegments();
+    }
+
+    private void openExistingSegments() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparing(p -> p.getFileName().toString()))
+                    .toList();
+        }
+        for (Path file : files) {
+            try {
+                segments.add(AuditJournalSegment.open(file, segmentStart(file)));
+            } catch (IOException | NumberFormatException e) {
+                log.warn("Skipping unreadable audit journal segment {}", file, e);
+            }
+        }
+        log.info("Audit journal opened at {} with {} segments", directory, segments.size());
+    }
+
+    // Segments assume a single appender, so concurrent callers take turns
+    @Override
+    public void write(List<AuditEvent> batch) {
+        synchronized (writeLock) {
+            int from = 0;
+            while (from < batch.size()) {
+                AuditJournalSegment active = activeSegment();
+                from += active.append(batch, from);
+                if (forceOnWrite) {
+                    active.force();
+                }
+            }
+        }
+    }
+
+    private AuditJournalSegment activeSegment() {
+        AuditJournalSegment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last != null && !last.isFull()) {
+            return last;
+        }
+        if (last != null) {
+            last.force();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            if (last != null && start <= last.getStartMillis()) {
+                start = last.getStartMillis() + 1;
+            }
+            AuditJournalSegment created = AuditJournalSegment.create(
+                    directory.resolve(String.format("audit-%019d%s", start, SEGMENT_SUFFIX)), start, segmentRecords);
+            segments.add(created);
+            enforceRetention();
+            return created;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create audit journal segment", e);
+        }
+    }
+
+    private void enforceRetention() {
+        while (segments.size() > maxSegments) {
+            AuditJournalSegment oldest = segments.remove(0);
+            try {
+                // readers still holding the segment keep their mapping until they finish
+                Files.deleteIfExists(oldest.getPath());
+            } catch (IOException e) {
+                log.warn("Could not delete audit journal segment {}", oldest.getPath(), e);
+            }
+        }
+    }
+
+    public List<AuditEvent> findByTimeRange(Instant from, Instant to, int limit) {
+        return scan(from, to, false, 0L, limit);
+    }
+
+    public List<AuditEvent> findByUser(String username, Instant from, Instant to, int limit) {
+        return findByUserHash(userHash(username), from, to, limit);
+    }
+
+    public List<AuditEvent> findByUserHash(long userHash, Instant from, Instant to, int limit) {
+        return scan(from, to, true, userHash, limit);
+    }
+
+    private List<AuditEvent> scan(Instant from, Instant to, boolean matchUser, long userHash, int limit) {
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        List<AuditEvent> results = new ArrayList<>(Math.min(limit, 1024));
+        for (AuditJournalSegment segment : segments) {
+            if (results.size() >= limit) {
+                break;
+            }
+            segment.scan(fromMillis, toMillis, matchUser, userHash, limit, results);
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (writeLock) {
+            for (AuditJournalSegment segment : segments) {
+                segment.force();
+            }
+        }
+    }
+
+    // 64-bit FNV-1a over the lower-cased username; stable across restarts and nodes
+    public static long userHash(String username) {
+        if (username == null) {
+            return 0L;
+        }
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : username.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xFF);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long segmentStart(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("audit-".length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,256 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One fixed-size, memory-mapped journal file. Layout:
+ * <pre>
+ * header (64 bytes): magic:int, version:int, recordSize:int, capacity:int, count:int
+ * record (256 bytes): timestamp:long, userHash:long, type:byte, userLen:byte, ipLen:byte, detailLen:byte,
+ *                     user[96], ip[46], detail[94]
+ * </pre>
+ * Timestamps and user hashes are mirrored in heap arrays so queries scan primitives and only
+ * decode matching records straight from the mapping. A sparse time index keeps the min/max timestamp
+ * of every block of {@value #INDEX_STRIDE} records plus a running max; a time-bounded query binary
+ * searches the running max for its first block and skips blocks whose range misses the query.
+ * Records are only roughly time-ordered (producers race into the pipeline), so blocks are not assumed sorted.
+ */
+class AuditJournalSegment {
+
+    static final int MAGIC = 0x41554A31; // "AUJ1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 256;
+    static final int INDEX_STRIDE = 256;
+
+    private static final int COUNT_OFFSET = 16;
+    private static final int USER_OFFSET = 20;
+    private static final int USER_SIZE = 96;
+    private static final int IP_OFFSET = USER_OFFSET + USER_SIZE;
+    private static final int IP_SIZE = 46;
+    private static final int DETAIL_OFFSET = IP_OFFSET + IP_SIZE;
+    private static final int DETAIL_SIZE = RECORD_SIZE - DETAIL_OFFSET;
+
+    private static final AuditEventType[] TYPES = AuditEventType.values();
+
+    private final Path path;
+    private final long startMillis;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+    private final long[] timestamps;
+    private final long[] userHashes;
+    private final long[] blockMin;
+    private final long[] blockMax;
+    private final long[] runningMax;
+    private volatile int count;
+    private volatile long minTimestamp = Long.MAX_VALUE;
+    private volatile long maxTimestamp = Long.MIN_VALUE;
+
+    private AuditJournalSegment(Path path, long startMillis, int capacity, MappedByteBuffer buffer) {
+        this.path = path;
+        this.startMillis = startMillis;
+        this.capacity = capacity;
+        this.buffer = buffer;
+        this.timestamps = new long[capacity];
+        this.userHashes = new long[capacity];
+        int blocks = (capacity + INDEX_STRIDE - 1) / INDEX_STRIDE;
+        this.blockMin = new long[blocks];
+        this.blockMax = new long[blocks];
+        this.runningMax = new long[blocks];
+    }
+
+    static AuditJournalSegment create(Path path, long startMillis, int capacity) throws IOException {
+        AuditJournalSegment segment = new AuditJournalSegment(path, startMillis, capacity, map(path, capacity));
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putInt(4, VERSION);
+        segment.buffer.putInt(8, RECORD_SIZE);
+        segment.buffer.putInt(12, capacity);
+        segment.buffer.putInt(COUNT_OFFSET, 0);
+        return segment;
+    }
+
+    static AuditJournalSegment open(Path path, long startMillis) throws IOException {
+        int capacity;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Not an audit journal segment: " + path);
+            }
+            capacity = header.getInt(12);
+        }
+
+        AuditJournalSegment segment = new AuditJournalSegment(path, startMillis, capacity, map(path, capacity));
+        int committed = Math.min(segment.buffer.getInt(COUNT_OFFSET), capacity);
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < committed; i++) {
+            int base = recordOffset(i);
+            long timestamp = segment.buffer.getLong(base);
+            segment.timestamps[i] = timestamp;
+            segment.userHashes[i] = segment.buffer.getLong(base + 8);
+            segment.index(i, timestamp);
+            min = Math.min(min, timestamp);
+            max = Math.max(max, timestamp);
+        }
+        segment.minTimestamp = min;
+        segment.maxTimestamp = max;
+        segment.count = committed;
+        return segment;
+    }
+
+    private static MappedByteBuffer map(Path path, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        }
+    }
+
+    // Single writer; returns how many events from the list were appended
+    int append(List<AuditEvent> events, int from) {
+        int written = count;
+        int appended = 0;
+        long min = minTimestamp;
+        long max = maxTimestamp;
+        for (int i = from; i < events.size() && written < capacity; i++, written++, appended++) {
+            AuditEvent event = events.get(i);
+            long timestamp = event.getOccurredAt().toEpochMilli();
+            long userHash = AuditJournal.userHash(event.getUsername());
+            int base = recordOffset(written);
+
+            buffer.putLong(base, timestamp);
+            buffer.putLong(base + 8, userHash);
+            buffer.put(base + 16, (byte) event.getType().ordinal());
+            buffer.put(base + 17, putString(base + USER_OFFSET, USER_SIZE, event.getUsername()));
+            buffer.put(base + 18, putString(base + IP_OFFSET, IP_SIZE, event.getIpAddress()));
+            buffer.put(base + 19, putString(base + DETAIL_OFFSET, DETAIL_SIZE, event.getDetail()));
+
+            timestamps[written] = timestamp;
+            userHashes[written] = userHash;
+            index(written, timestamp);
+            min = Math.min(min, timestamp);
+            max = Math.max(max, timestamp);
+        }
+        buffer.putInt(COUNT_OFFSET, written);
+        minTimestamp = min;
+        maxTimestamp = max;
+        // volatile write publishes the records and index entries to readers
+        count = written;
+        return appended;
+    }
+
+    private void index(int record, long timestamp) {
+        int block = record / INDEX_STRIDE;
+        if (record % INDEX_STRIDE == 0) {
+            blockMin[block] = timestamp;
+            blockMax[block] = timestamp;
+        } else {
+            blockMin[block] = Math.min(blockMin[block], timestamp);
+            blockMax[block] = Math.max(blockMax[block], timestamp);
+        }
+        runningMax[block] = block == 0 ? blockMax[block] : Math.max(runningMax[block - 1], blockMax[block]);
+    }
+
+    void scan(long fromMillis, long toMillis, boolean matchUser, long userHash, int limit, List<AuditEvent> out) {
+        int committed = count;
+        if (committed == 0 || maxTimestamp < fromMillis || minTimestamp >= toMillis) {
+            return;
+        }
+        int blocks = (committed + INDEX_STRIDE - 1) / INDEX_STRIDE;
+        for (int block = firstBlockReaching(fromMillis, blocks); block < blocks && out.size() < limit; block++) {
+            if (blockMax[block] < fromMillis || blockMin[block] >= toMillis) {
+                continue;
+            }
+            int end = Math.min(committed, (block + 1) * INDEX_STRIDE);
+            for (int i = block * INDEX_STRIDE; i < end && out.size() < limit; i++) {
+                long timestamp = timestamps[i];
+                if (timestamp < fromMillis || timestamp >= toMillis) {
+                    continue;
+                }
+                if (matchUser && userHashes[i] != userHash) {
+                    continue;
+                }
+                out.add(read(i));
+            }
+        }
+    }
+
+    // Every record before the first block whose running max reaches fromMillis is older than the query
+    private int firstBlockReaching(long fromMillis, int blocks) {
+        int low = 0;
+        int high = blocks;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (runningMax[mid] < fromMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private AuditEvent read(int index) {
+        int base = recordOffset(index);
+        return new AuditEvent(
+                TYPES[buffer.get(base + 16)],
+                getString(base + USER_OFFSET, buffer.get(base + 17)),
+                getString(base + IP_OFFSET, buffer.get(base + 18)),
+                getString(base + DETAIL_OFFSET, buffer.get(base + 19)),
+                Instant.ofEpochMilli(timestamps[index]));
+    }
+
+    private byte putString(int offset, int maxBytes, String value) {
+        if (value == null) {
+            return -1;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, maxBytes);
+        // never cut a multi-byte character in half
+        while (length < bytes.length && length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        buffer.put(offset, bytes, 0, length);
+        return (byte) length;
+    }
+
+    private String getString(int offset, byte storedLength) {
+        if (storedLength < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[storedLength];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    private static int recordOffset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getStartMillis() {
+        return startMillis;
+    }
+
+    long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+}
@@ -0,0 +1,10 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+public enum AuditOverflowPolicy {
+    // Discard the event when the buffer is full
+    DROP,
+    // Wait up to audit.pipeline.block-timeout-ms for space, then discard
+    BLOCK,
+    // Above the high-water mark keep one event in audit.pipeline.sample-rate, discard the rest
+    SAMPLE
+}
@@ -0,0 +1,151 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps daily audit_event partitions provisioned ahead of time and drops the ones past retention.
+ * Dropping a whole partition is O(1) and avoids the bloat of DELETE-based retention.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.jdbc.enabled", havingValue = "true")
+@Slf4j
+public class AuditPartitionMaintenance {
+
+    private static final String PARENT_TABLE = "audit_event";
+    private static final String DEFAULT_PARTITION = PARENT_TABLE + "_default";
+    private static final String PARTITION_PREFIX = PARENT_TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${audit.jdbc.precreate-days:7}")
+    private int precreateDays;
+
+    @Value("${audit.jdbc.retention-days:90}")
+    private int retentionDays;
+
+    public AuditPartitionMaintenance(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rotatePartitions();
+    }
+
+    // Each partition is created in its own transaction, so one failure does not undo the others
+    @Scheduled(cron = "${audit.jdbc.partition-cron:0 15 0 * * *}", zone = "UTC")
+    public void rotatePartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Set<String> existing;
+        try {
+            existing = new HashSet<>(listPartitions());
+        } catch (Exception e) {
+            log.error("Audit partition rotation failed", e);
+            return;
+        }
+        for (int day = 0; day <= precreateDays; day++) {
+            LocalDate from = today.plusDays(day);
+            if (existing.contains(partitionName(from))) {
+                continue;
+            }
+            try {
+                inMaintenanceTransaction(() -> createPartition(from));
+            } catch (Exception e) {
+                log.error("Could not create audit partition {}", partitionName(from), e);
+            }
+        }
+        try {
+            inMaintenanceTransaction(() -> dropExpiredPartitions(today.minusDays(retentionDays)));
+        } catch (Exception e) {
+            log.error("Dropping expired audit partitions failed", e);
+        }
+    }
+
+    private void inMaintenanceTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Only one node performs DDL at a time; the others skip this step
+            Boolean acquired = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(hashtext('audit_event_partitions'))", Boolean.class);
+            if (Boolean.TRUE.equals(acquired)) {
+                work.run();
+            }
+        });
+    }
+
+    // A plain CREATE ... PARTITION OF fails once the default partition holds rows in the new range,
+    // so the partition is built detached, those rows are moved into it, and it is then attached
+    private void createPartition(LocalDate from) {
+        String partition = partitionName(from);
+        // another node may have created it since the listing
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + partition
+                + " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        // ATTACH takes this lock anyway; taking it before the move keeps new rows for the day out of the
+        // default partition until the attach routes them to the new one (inserts wait, they do not fail)
+        jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN ACCESS EXCLUSIVE MODE");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                        + " WHERE occurred_at >= ? AND occurred_at < ? RETURNING *) "
+                        + "INSERT INTO " + partition + " SELECT * FROM moved",
+                from.atStartOfDay(), from.plusDays(1).atStartOfDay());
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + partition
+                + " FOR VALUES FROM ('" + from + "') TO ('" + from.plusDays(1) + "')");
+        if (moved > 0) {
+            log.info("Moved {} audit events from {} into {}", moved, DEFAULT_PARTITION, partition);
+        }
+    }
+
+    private void dropExpiredPartitions(LocalDate cutoff) {
+        for (String partition : listPartitions()) {
+            LocalDate day = partitionDay(partition);
+            if (day != null && day.isBefore(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Dropped expired audit partition {}", partition);
+            }
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ?",
+                String.class, PARENT_TABLE);
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(day);
+    }
+
+    static LocalDate partitionDay(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null; // e.g. the default partition
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring buffer (sequence-per-slot design).
+ * Producers never block; {@link #offer} returns false when the buffer is full.
+ */
+class AuditRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Audit buffer capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(AuditEvent event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    // Must only be called from the single consumer thread
+    int drainTo(List<AuditEvent> target, int maxEvents) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < maxEvents) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head.lazySet(position);
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
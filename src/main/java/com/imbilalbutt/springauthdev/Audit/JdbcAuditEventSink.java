@@ -0,0 +1,109 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists audit events to the partitioned audit_event table. Events are accumulated and written
+ * with a single JDBC batch once batch-size is reached or flush-interval-ms has passed.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.jdbc.enabled", havingValue = "true")
+@Slf4j
+public class JdbcAuditEventSink implements AuditEventSink {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_event (occurred_at, event_type, username, ip_address, detail) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final Object lock = new Object();
+    private List<AuditEvent> pending;
+    private long lastFlushMillis = System.currentTimeMillis();
+
+    public JdbcAuditEventSink(JdbcTemplate jdbcTemplate,
+                              @Value("${audit.jdbc.batch-size:500}") int batchSize,
+                              @Value("${audit.jdbc.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.pending = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        List<AuditEvent> ready = null;
+        synchronized (lock) {
+            pending.addAll(batch);
+            if (pending.size() >= batchSize) {
+                ready = takePending();
+            }
+        }
+        if (ready != null) {
+            insert(ready);
+        }
+    }
+
+    // Time trigger: makes sure a quiet period does not leave events sitting in memory
+    @Scheduled(fixedDelayString = "${audit.jdbc.flush-interval-ms:1000}")
+    public void flushIfDue() {
+        List<AuditEvent> ready = null;
+        synchronized (lock) {
+            if (!pending.isEmpty() && System.currentTimeMillis() - lastFlushMillis >= flushIntervalMs) {
+                ready = takePending();
+            }
+        }
+        if (ready != null) {
+            insert(ready);
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        List<AuditEvent> ready;
+        synchronized (lock) {
+            ready = takePending();
+        }
+        insert(ready);
+    }
+
+    private List<AuditEvent> takePending() {
+        List<AuditEvent> ready = pending;
+        pending = new ArrayList<>(batchSize);
+        lastFlushMillis = System.currentTimeMillis();
+        return ready;
+    }
+
+    private void insert(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            for (int from = 0; from < events.size(); from += batchSize) {
+                List<AuditEvent> chunk = events.subList(from, Math.min(from + batchSize, events.size()));
+                jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, event) -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(event.getOccurredAt().atOffset(ZoneOffset.UTC).toLocalDateTime()));
+                    ps.setString(2, event.getType().name());
+                    ps.setString(3, event.getUsername());
+                    ps.setString(4, event.getIpAddress());
+                    ps.setString(5, event.getDetail());
+                });
+            }
+        } catch (Exception e) {
+            // The log sink still has these events; do not hold them in memory while the database is down
+            log.error("Failed to persist {} audit events", events.size(), e);
+        }
+    }
+}
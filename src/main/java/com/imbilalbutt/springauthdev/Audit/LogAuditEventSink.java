@@ -0,0 +1,38 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class LogAuditEventSink implements AuditEventSink {
+
+    // Keep the existing logger category so logging configuration and log shipping keep working
+    private static final Logger log = LoggerFactory.getLogger(SecurityAuditLogger.class);
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        for (AuditEvent event : batch) {
+            AuditEventType type = event.getType();
+            if (type.getDetailKey() == null) {
+                log.atLevel(type.getLevel()).log("{}: {}={} ip={}",
+                        type, type.getSubjectKey(), event.getUsername(), event.getIpAddress());
+            } else {
+                switch (type.getDetailPosition()) {
+                    case FIRST -> log.atLevel(type.getLevel()).log("{}: {}={} {}={} ip={}",
+                            type, type.getDetailKey(), event.getDetail(), type.getSubjectKey(), event.getUsername(),
+                            event.getIpAddress());
+                    case BEFORE_IP -> log.atLevel(type.getLevel()).log("{}: {}={} {}={} ip={}",
+                            type, type.getSubjectKey(), event.getUsername(), type.getDetailKey(), event.getDetail(),
+                            event.getIpAddress());
+                    case LAST -> log.atLevel(type.getLevel()).log("{}: {}={} ip={} {}={}",
+                            type, type.getSubjectKey(), event.getUsername(), event.getIpAddress(),
+                            type.getDetailKey(), event.getDetail());
+                }
+            }
+        }
+    }
+}
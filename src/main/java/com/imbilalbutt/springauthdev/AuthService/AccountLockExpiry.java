@@ -0,0 +1,39 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clears lapsed account locks in one set-based UPDATE. Sign-in already ignores a lock whose
+ * accountLockedUntil has passed, so this only tidies the rows (and the admin listing) for users who
+ * have not come back yet.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountLockExpiry {
+
+    private final UserRepository userRepository;
+
+    @Scheduled(fixedDelayString = "${rate.limit.lock-expiry-interval-ms:60000}")
+    public void clearExpiredLocks() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            // A bulk UPDATE evicts every cached User, so only issue one when a lock has actually lapsed.
+            // The count may read a lagging replica; a lock it misses is cleared on a later run.
+            if (userRepository.countExpiredLocks(now) == 0) {
+                return;
+            }
+            int unlocked = userRepository.clearExpiredLocks(now);
+            if (unlocked > 0) {
+                log.info("Cleared {} expired account locks", unlocked);
+            }
+        } catch (Exception e) {
+            log.error("Clearing expired account locks failed", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.Audit.AuditEvent;
+import com.imbilalbutt.springauthdev.Audit.AuditJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/audit")
+@ConditionalOnProperty(name = "audit.journal.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AdminAuditController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final AuditJournal auditJournal;
+
+    @GetMapping("/events")
+    public ResponseEntity<List<AuditEvent>> findEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String user,
+            @RequestParam(required = false) Long userHash,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofHours(1));
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        if (user != null) {
+            return ResponseEntity.ok(auditJournal.findByUser(user, start, end, boundedLimit));
+        }
+        if (userHash != null) {
+            return ResponseEntity.ok(auditJournal.findByUserHash(userHash, start, end, boundedLimit));
+        }
+        return ResponseEntity.ok(auditJournal.findByTimeRange(start, end, boundedLimit));
+    }
+}
@@ -0,0 +1,86 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.commons.Role;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/v1/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final UserImportService userImportService;
+    private final UserAdminService userAdminService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${admin.users.export-timeout:1800000}")
+    private long exportTimeoutMillis;
+
+    // Keyset pagination: start without afterId, then pass the previous page's nextAfterId
+    @GetMapping
+    public ResponseEntity<UserPage> listUsers(
+            @RequestParam(defaultValue = "0") int afterId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled) {
+        return ResponseEntity.ok(userAdminService.listUsers(afterId, limit, role, enabled));
+    }
+
+    // Async with its own timeout: the container default (30s) would cut a large export short
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportUsers(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled,
+            HttpServletResponse response) {
+        UserAdminService.ExportFormat exportFormat;
+        try {
+            exportFormat = UserAdminService.ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("format must be csv or ndjson");
+        }
+        String extension = exportFormat.name().toLowerCase(Locale.ROOT);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + extension + "\"");
+        return new WebAsyncTask<>(exportTimeoutMillis, () -> {
+            userAdminService.exportUsers(exportFormat, role, enabled, response.getOutputStream());
+            return null;
+        });
+    }
+
+    // Streams in both directions: rows are read as they arrive and rejected rows are written back per chunk
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV})
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+        InputStreamReader body = new InputStreamReader(request.getInputStream(), charset);
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV));
+
+        try (UserImportReader reader = csv ? UserImportReader.csv(body) : UserImportReader.ndjson(body, objectMapper)) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+            userImportService.importUsers(reader, out);
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.imbilalbutt.springauthdev.AuthService;
 
+import com.imbilalbutt.springauthdev.Token.TokenIntrospectionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
 public class ApiAuthController {
 
     private final ApiUserService apiUserService;
+    private final TokenIntrospectionService introspectionService;
 
     @PostMapping("/register")
     public ResponseEntity<AuthenticationResponse> register(
@@ -27,6 +31,37 @@ public class ApiAuthController {
         return ResponseEntity.ok(apiUserService.authenticate(request));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(
+            @Valid @RequestBody RefreshTokenRequest request
+    ) {
+        return ResponseEntity.ok(apiUserService.refresh(request));
+    }
+
+    // Revokes the presented access token and, when given, the refresh token family
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request
+    ) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        apiUserService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    // For API gateways: one result array per input, [1, subject, exp] / [1, username] / [0]
+    @PostMapping("/introspect/batch")
+    public ResponseEntity<List<Object[]>> introspectBatch(
+            @RequestHeader(value = "X-Introspection-Key", required = false) String introspectionKey,
+            @Valid @RequestBody IntrospectionRequest request
+    ) {
+        if (!introspectionService.isAuthorized(introspectionKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(introspectionService.introspect(request.getTokens()));
+    }
+
     @PostMapping("/create-account")
     public ResponseEntity<?> createUserAccount(
             @Valid @RequestBody RegisterRequest request
@@ -7,6 +7,10 @@ public interface ApiUserService {
 
     AuthenticationResponse authenticate(AuthenticationRequest request);
 
+    AuthenticationResponse refresh(RefreshTokenRequest request);
+
+    void logout(String accessToken, String refreshToken);
+
     User createUserAccount(RegisterRequest request);
 
     boolean userExists(String email);
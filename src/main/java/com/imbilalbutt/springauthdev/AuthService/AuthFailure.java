@@ -0,0 +1,75 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Expected sign-in failure. Carries no stack trace, so a rejected attempt costs one small object;
+ * status, code and the encoded error body live on the shared {@link Reason}.
+ * Instances are not shared: Throwable state (cause, suppressed exceptions, the authentication
+ * request) is mutable, so each throw gets its own.
+ * Still an AuthenticationException, so anything that handles Spring Security failures handles these.
+ */
+public final class AuthFailure extends AuthenticationException {
+
+    public enum Reason {
+        INVALID_CREDENTIALS(HttpStatus.UNAUTHORIZED, "INVALID_CREDENTIALS", "Invalid email or password"),
+        ACCOUNT_DISABLED(HttpStatus.FORBIDDEN, "ACCOUNT_DISABLED", "Your account has been disabled. Please contact support."),
+        ACCOUNT_LOCKED(HttpStatus.LOCKED, "ACCOUNT_LOCKED", "Your account has been locked. Please contact support."),
+        INVALID_REFRESH_TOKEN(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Invalid or expired refresh token"),
+        HASHING_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_BUSY", "Too many sign-ins in progress. Please retry shortly.");
+
+        private final HttpStatus status;
+        private final String code;
+        private final String message;
+        private final byte[] body;
+
+        Reason(HttpStatus status, String code, String message) {
+            this.status = status;
+            this.code = code;
+            this.message = message;
+            // constants only, so no JSON escaping is needed
+            this.body = ("{\"code\":\"" + code + "\",\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        }
+
+        public HttpStatus getStatus() {
+            return status;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        // Shared; callers must not modify it
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+    private final Reason reason;
+
+    public AuthFailure(Reason reason) {
+        super(reason.message);
+        this.reason = reason;
+    }
+
+    // Expected outcome, not a bug: where it was thrown is not worth recording
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public HttpStatus getStatus() {
+        return reason.getStatus();
+    }
+
+    public String getCode() {
+        return reason.getCode();
+    }
+}
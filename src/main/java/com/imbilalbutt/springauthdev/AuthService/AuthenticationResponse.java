@@ -13,6 +13,9 @@ import lombok.NoArgsConstructor;
 public class AuthenticationResponse {
 
     private String token;
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private Long expiresIn;
     private String sessionToken;
     private String tokenType;
     private String email;
@@ -0,0 +1,20 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class IntrospectionRequest {
+
+    // Access tokens and Redis session ids, in any mix
+    @NotNull(message = "Tokens are required")
+    private List<String> tokens;
+}
@@ -0,0 +1,32 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.Token.SigningKeyRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+// Public keys for offline token verification; If-None-Match requests are answered with 304
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final SigningKeyRegistry signingKeyRegistry;
+
+    @Value("${application.security.jwt.jwks-max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .eTag(signingKeyRegistry.getJwksETag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(signingKeyRegistry.getJwks());
+    }
+}
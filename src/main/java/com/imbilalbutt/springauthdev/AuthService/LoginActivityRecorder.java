@@ -0,0 +1,168 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind for sign-in activity. Each successful sign-in bumps an in-memory entry for the user;
+ * every flush interval the entries are swapped out and written to user_login_activity with one
+ * batched upsert, so a user signing in many times between flushes costs a single row write. Entries
+ * are spread over independently locked stripes so concurrent sign-ins rarely contend.
+ */
+@Component
+@Slf4j
+public class LoginActivityRecorder implements MeterBinder {
+
+    // Skips users deleted since their sign-in instead of failing the whole batch on the foreign key
+    static final String UPSERT_SQL =
+            "INSERT INTO user_login_activity (user_id, last_login_at, login_count) "
+                    + "SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM _user WHERE id = ?) "
+                    + "ON CONFLICT (user_id) DO UPDATE SET "
+                    + "last_login_at = GREATEST(user_login_activity.last_login_at, EXCLUDED.last_login_at), "
+                    + "login_count = user_login_activity.login_count + EXCLUDED.login_count";
+
+    static final class Activity {
+        long count;
+        long lastLoginMillis;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Object[] locks;
+    private final Map<Integer, Activity>[] stripes;
+    private final int mask;
+
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public LoginActivityRecorder(JdbcTemplate jdbcTemplate,
+                                 @Value("${login.activity.batch-size:500}") int batchSize,
+                                 @Value("${login.activity.stripes:0}") int stripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        int requested = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors() * 4;
+        int size = Integer.highestOneBit(Math.max(1, requested - 1)) << 1;
+        this.locks = new Object[size];
+        this.stripes = new Map[size];
+        for (int i = 0; i < size; i++) {
+            this.locks[i] = new Object();
+            this.stripes[i] = new HashMap<>();
+        }
+        this.mask = size - 1;
+    }
+
+    public void recordLogin(Integer userId) {
+        recordLogin(userId, 1, System.currentTimeMillis());
+    }
+
+    private void recordLogin(Integer userId, long count, long atMillis) {
+        int stripe = stripeOf(userId);
+        synchronized (locks[stripe]) {
+            Activity activity = stripes[stripe].computeIfAbsent(userId, id -> new Activity());
+            activity.count += count;
+            activity.lastLoginMillis = Math.max(activity.lastLoginMillis, atMillis);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${login.activity.flush-interval-ms:10000}",
+            initialDelayString = "${login.activity.flush-interval-ms:10000}")
+    public void flushScheduled() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flush() {
+        Map<Integer, Activity> pending = drain();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // A stable order keeps concurrent flushes from several instances from deadlocking on row locks
+        List<Map.Entry<Integer, Activity>> rows = new ArrayList<>(pending.entrySet());
+        rows.sort(Map.Entry.comparingByKey(Comparator.naturalOrder()));
+        int written = 0;
+        try {
+            for (; written < rows.size(); written += batchSize) {
+                List<Map.Entry<Integer, Activity>> chunk = rows.subList(written, Math.min(written + batchSize, rows.size()));
+                jdbcTemplate.batchUpdate(UPSERT_SQL, chunk, chunk.size(), (ps, row) -> {
+                    ps.setInt(1, row.getKey());
+                    ps.setTimestamp(2, Timestamp.valueOf(Instant.ofEpochMilli(row.getValue().lastLoginMillis)
+                            .atOffset(ZoneOffset.UTC).toLocalDateTime()));
+                    ps.setLong(3, row.getValue().count);
+                    ps.setInt(4, row.getKey());
+                });
+                flushedRows.add(chunk.size());
+            }
+        } catch (Exception e) {
+            // Put the unwritten rows back; they merge with newer sign-ins and go out on the next flush
+            failedFlushes.increment();
+            for (Map.Entry<Integer, Activity> row : rows.subList(written, rows.size())) {
+                recordLogin(row.getKey(), row.getValue().count, row.getValue().lastLoginMillis);
+            }
+            log.error("Failed to write login activity for {} users; retrying on the next flush", rows.size() - written, e);
+        }
+    }
+
+    private Map<Integer, Activity> drain() {
+        Map<Integer, Activity> pending = new HashMap<>();
+        for (int i = 0; i < stripes.length; i++) {
+            Map<Integer, Activity> taken;
+            synchronized (locks[i]) {
+                taken = stripes[i];
+                if (taken.isEmpty()) {
+                    continue;
+                }
+                stripes[i] = new HashMap<>();
+            }
+            pending.putAll(taken);
+        }
+        return pending;
+    }
+
+    int pendingUsers() {
+        int total = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            synchronized (locks[i]) {
+                total += stripes[i].size();
+            }
+        }
+        return total;
+    }
+
+    private int stripeOf(Integer userId) {
+        int h = userId.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("login.activity.pending", this, LoginActivityRecorder::pendingUsers)
+                .description("Users with sign-ins not yet written to user_login_activity")
+                .register(registry);
+        FunctionCounter.builder("login.activity.flushed", flushedRows, LongAdder::sum)
+                .description("Rows upserted into user_login_activity")
+                .register(registry);
+        FunctionCounter.builder("login.activity.flush.failures", failedFlushes, LongAdder::sum)
+                .description("Flushes that failed and were retried")
+                .register(registry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+
+import com.imbilalbutt.springauthdev.Session.Reactive.ReactiveSessionRegistry;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Same contract as {@link SessionController}, but the Redis calls are non-blocking: the request thread
+ * is released while Lettuce waits on Redis and the response is completed asynchronously. The credential
+ * check stays blocking (JDBC and BCrypt), so it runs on the bounded elastic scheduler.
+ */
+@RestController
+@RequestMapping("/api/v2/reactive/session")
+@RequiredArgsConstructor
+public class ReactiveSessionController {
+
+    private final ReactiveSessionRegistry sessionRegistry;
+    private final WebUserService webUserService;
+
+    @PostMapping("/login")
+    public Mono<AuthenticationResponse> loginWithSession(@Valid @RequestBody AuthenticationRequest request) {
+        return Mono.fromCallable(() -> webUserService.verifyCredentials(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(user -> sessionRegistry.registerSession(user.getEmail())
+                        .map(sessionId -> webUserService.sessionResponse(user, sessionId)));
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<Void>> logout(@RequestHeader("Authorization") String sessionId) {
+        return sessionRegistry.invalidateSession(sessionId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().<Void>build()));
+    }
+
+    @GetMapping("/validate")
+    public Mono<ResponseEntity<SessionInfo>> validateSession(@RequestHeader("Authorization") String sessionId) {
+        return sessionRegistry.getSessionInfo(sessionId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<Void>> refreshSession(@RequestHeader("Authorization") String sessionId) {
+        return sessionRegistry.refreshSession(sessionId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().<Void>build()));
+    }
+}
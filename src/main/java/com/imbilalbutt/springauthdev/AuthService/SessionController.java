@@ -4,6 +4,7 @@ package com.imbilalbutt.springauthdev.AuthService;
 import com.imbilalbutt.springauthdev.Session.Redis.SessionRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,6 +28,15 @@ public class SessionController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/validate")
+    public ResponseEntity<SessionInfo> validateSession(@RequestHeader("Authorization") String sessionId) {
+        SessionInfo sessionInfo = sessionRegistry.getSessionInfo(sessionId);
+        if (sessionInfo == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(sessionInfo);
+    }
+
     @PostMapping("/refresh")
     public ResponseEntity<Void> refreshSession(@RequestHeader("Authorization") String sessionId) {
         sessionRegistry.refreshSession(sessionId);
@@ -7,6 +7,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.security.core.GrantedAuthority;
@@ -22,8 +26,12 @@ import java.util.List;;
 import static jakarta.persistence.FetchType.EAGER;
 
 
+// Cached only when user.cache.enabled turns the second-level cache on; see UserCacheConfiguration
 @Entity
-@Table(name = "_user")
+@Table(name = "_user", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 @Getter
 @Setter
 @SuperBuilder
@@ -31,8 +39,15 @@ import static jakarta.persistence.FetchType.EAGER;
 @AllArgsConstructor
 public class User implements UserDetails, Principal {
 
+    public static final String CACHE_REGION = "user";
+    public static final String NATURAL_ID_CACHE_REGION = "user-natural-id";
+    // The name PostgreSQL gave V1's UNIQUE(email); pinned here so generated schemas match
+    public static final String EMAIL_CONSTRAINT = "_user_email_key";
+
+    // The SERIAL column's own sequence, stepped by 50 (V4) so batched inserts need one nextval per 50 rows
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_seq")
+    @SequenceGenerator(name = "user_id_seq", sequenceName = "_user_id_seq", allocationSize = 50)
     private Integer id;
 
     private String firstname;
@@ -41,7 +56,8 @@ public class User implements UserDetails, Principal {
 
     private LocalDate dateOfBirth;
 
-    @Column(unique = true)
+    // Lookups by email go through the natural-id API (UserNaturalIdRepository) so they can be cached
+    @NaturalId(mutable = true)
     private String email;
     private String password;
     private boolean enabled;
@@ -64,14 +80,8 @@ public class User implements UserDetails, Principal {
 
     private LocalDateTime accountLockedUntil;
 
-    private String emailVerificationToken;
-
     private boolean emailVerified;
 
-    private String passwordResetToken;
-
-    private LocalDateTime passwordResetTokenExpiry;
-
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.name()));
@@ -92,9 +102,15 @@ public class User implements UserDetails, Principal {
         return true;
     }
 
+    // A timed lock stops counting once accountLockedUntil has passed, even before anything clears it
     @Override
     public boolean isAccountNonLocked() {
-        return !locked;
+        return !isLockActive(locked, accountLockedUntil, LocalDateTime.now());
+    }
+
+    // Locks without an expiry (set by an administrator) never lapse on their own
+    static boolean isLockActive(boolean locked, LocalDateTime lockedUntil, LocalDateTime now) {
+        return locked && (lockedUntil == null || now.isBefore(lockedUntil));
     }
 
     @Override
@@ -128,9 +144,10 @@ public class User implements UserDetails, Principal {
         this.failedLoginAttempts = 0;
     }
 
+    // Clears a lapsed lock in memory; it reaches the database with the next save of this user
     public boolean checkAccountNotLocked() {
         if (this.locked) {
-            if (this.accountLockedUntil != null && LocalDateTime.now().isAfter(this.accountLockedUntil)) {
+            if (!isLockActive(true, this.accountLockedUntil, LocalDateTime.now())) {
                 this.locked = false;
                 this.accountLockedUntil = null;
                 this.failedLoginAttempts = 0;
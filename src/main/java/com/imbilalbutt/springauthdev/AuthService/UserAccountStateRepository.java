@@ -0,0 +1,26 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Targeted writes to a single user's sign-in state, which evict only that user; see UserAccountStateRepositoryImpl
+public interface UserAccountStateRepository {
+
+    // Email verification and password reset tokens live in user_token; see UserTokenStore
+    @Transactional
+    void markEmailVerified(Integer userId);
+
+    // After a successful sign-in: clears the failure count and a lock that has lapsed, never an active one.
+    // Writes nothing when there is nothing to clear.
+    @Transactional
+    void resetFailedLoginAttempts(Integer userId, LocalDateTime now);
+
+    // After a wrong password: one atomic increment instead of saving a copy that may be stale.
+    // A lock that has lapsed is cleared and the count starts again from 1.
+    @Transactional
+    void incrementFailedAttempts(Integer userId, LocalDateTime now);
+
+    @Transactional
+    void lockAccount(Integer userId, int attempts, LocalDateTime lockedUntil);
+}
@@ -0,0 +1,88 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * A JPQL bulk update invalidates the whole User region and its natural-id region, so every failed
+ * sign-in would empty the cache for all users. These updates are native SQL synchronized on a query
+ * space no entity uses, which leaves the regions alone, and evict the one entity they change. The
+ * email never changes here, so the natural-id entry stays valid. The eviction is repeated after
+ * completion, because a concurrent reader may have cached the row as it was before the commit.
+ */
+@Transactional
+class UserAccountStateRepositoryImpl implements UserAccountStateRepository {
+
+    private static final String QUERY_SPACE = "user_account_state";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void markEmailVerified(Integer userId) {
+        executeAndEvict(userId, update("UPDATE _user SET email_verified = true WHERE id = :userId")
+                .setParameter("userId", userId));
+    }
+
+    @Override
+    public void resetFailedLoginAttempts(Integer userId, LocalDateTime now) {
+        executeAndEvict(userId, update("UPDATE _user SET failed_login_attempts = 0, locked = false, "
+                + "account_locked_until = NULL "
+                + "WHERE id = :userId AND (locked = false OR account_locked_until <= :now) "
+                + "AND (locked = true OR failed_login_attempts IS NULL OR failed_login_attempts <> 0)")
+                .setParameter("userId", userId)
+                .setParameter("now", now));
+    }
+
+    @Override
+    public void incrementFailedAttempts(Integer userId, LocalDateTime now) {
+        // every SET expression sees the row as it was, so the lapsed-lock test holds for all three
+        executeAndEvict(userId, update("UPDATE _user SET "
+                + "failed_login_attempts = CASE WHEN locked = true AND account_locked_until <= :now THEN 1 "
+                + "ELSE COALESCE(failed_login_attempts, 0) + 1 END, "
+                + "locked = CASE WHEN locked = true AND account_locked_until <= :now THEN false ELSE locked END, "
+                + "account_locked_until = CASE WHEN locked = true AND account_locked_until <= :now THEN NULL "
+                + "ELSE account_locked_until END "
+                + "WHERE id = :userId")
+                .setParameter("userId", userId)
+                .setParameter("now", now));
+    }
+
+    @Override
+    public void lockAccount(Integer userId, int attempts, LocalDateTime lockedUntil) {
+        executeAndEvict(userId, update("UPDATE _user SET failed_login_attempts = :attempts, locked = true, "
+                + "account_locked_until = :lockedUntil WHERE id = :userId")
+                .setParameter("userId", userId)
+                .setParameter("attempts", attempts)
+                .setParameter("lockedUntil", lockedUntil));
+    }
+
+    private NativeQuery<?> update(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE);
+    }
+
+    private void executeAndEvict(Integer userId, NativeQuery<?> query) {
+        if (query.executeUpdate() == 0) {
+            return;
+        }
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(User.class, userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(User.class, userId);
+                }
+            });
+        }
+    }
+}
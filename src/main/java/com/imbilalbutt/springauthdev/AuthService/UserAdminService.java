@@ -0,0 +1,202 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.commons.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin views over _user. The listing pages by id (keyset), so page N costs the same as page 1; the
+ * export walks a server-side cursor and writes each row as it arrives, so memory stays flat however
+ * many users there are. Neither exposes password hashes or tokens.
+ */
+@Service
+@Slf4j
+public class UserAdminService {
+
+    public enum ExportFormat {
+        CSV("text/csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON_VALUE);
+
+        private final String contentType;
+
+        ExportFormat(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    private static final String[] EXPORT_COLUMNS =
+            {"id", "firstname", "lastname", "email", "role", "enabled", "locked", "email_verified", "created_date"};
+
+    private final EntityManager entityManager;
+    private final UserConverter userConverter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate exportTransaction;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+    private final int exportFetchSize;
+
+    public UserAdminService(EntityManager entityManager,
+                            UserConverter userConverter,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            @Value("${admin.users.max-page-size:500}") int maxPageSize,
+                            @Value("${admin.users.export-fetch-size:1000}") int exportFetchSize) {
+        this.entityManager = entityManager;
+        this.userConverter = userConverter;
+        this.jdbcTemplate = jdbcTemplate;
+        // PostgreSQL only streams with a fetch size inside a transaction; read-only also routes it to a replica
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public UserPage listUsers(int afterId, int limit, Role role, Boolean enabled) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+
+        // Only the filters in use become predicates, so the planner sees plain equalities it can index
+        StringBuilder jpql = new StringBuilder("SELECT u FROM User u WHERE u.id > :afterId");
+        if (role != null) {
+            jpql.append(" AND u.role = :role");
+        }
+        if (enabled != null) {
+            jpql.append(" AND u.enabled = :enabled");
+        }
+        jpql.append(" ORDER BY u.id");
+
+        TypedQuery<User> query = entityManager.createQuery(jpql.toString(), User.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(pageSize + 1);
+        if (role != null) {
+            query.setParameter("role", role);
+        }
+        if (enabled != null) {
+            query.setParameter("enabled", enabled);
+        }
+
+        List<User> users = query.getResultList();
+        boolean more = users.size() > pageSize;
+        List<UserDTO> page = new ArrayList<>(Math.min(users.size(), pageSize));
+        for (int i = 0; i < Math.min(users.size(), pageSize); i++) {
+            page.add(userConverter.toDto(users.get(i)));
+        }
+        return UserPage.builder()
+                .users(page)
+                .nextAfterId(more ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+
+    public void exportUsers(ExportFormat format, Role role, Boolean enabled, OutputStream outputStream) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", EXPORT_COLUMNS)).append(" FROM _user");
+        List<Object> args = new ArrayList<>(2);
+        if (role != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" role = ?");
+            args.add(role.name());
+        }
+        if (enabled != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" enabled = ?");
+            args.add(enabled);
+        }
+        sql.append(" ORDER BY id");
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            out.write(String.join(",", EXPORT_COLUMNS));
+            out.write('\n');
+        }
+
+        long[] rows = new long[1];
+        try {
+            exportTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(exportFetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    statement.setObject(i + 1, args.get(i));
+                }
+                return statement;
+            }, resultSet -> {
+                try {
+                    writeRow(format, resultSet, out);
+                } catch (IOException e) {
+                    // the client went away; abandon the cursor
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        log.info("Exported {} users as {}", rows[0], format);
+    }
+
+    private void writeRow(ExportFormat format, ResultSet resultSet, Writer out) throws SQLException, IOException {
+        if (format == ExportFormat.NDJSON) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String column : EXPORT_COLUMNS) {
+                Object value = resultSet.getObject(column);
+                row.put(column, value instanceof Timestamp timestamp ? timestamp.toLocalDateTime().toString() : value);
+            }
+            out.write(objectMapper.writeValueAsString(row));
+        } else {
+            for (int i = 0; i < EXPORT_COLUMNS.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                Object value = resultSet.getObject(EXPORT_COLUMNS[i]);
+                writeCsvField(out, value instanceof Timestamp timestamp
+                        ? timestamp.toLocalDateTime().toString() : value == null ? "" : value.toString());
+            }
+        }
+        out.write('\n');
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break, doubling inner quotes
+    static void writeCsvField(Writer out, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
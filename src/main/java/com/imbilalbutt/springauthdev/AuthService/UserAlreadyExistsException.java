@@ -0,0 +1,9 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+// An IllegalArgumentException so the existing handlers keep answering duplicates the way they always have
+public class UserAlreadyExistsException extends IllegalArgumentException {
+
+    public UserAlreadyExistsException(String email) {
+        super("User with email " + email + " already exists");
+    }
+}
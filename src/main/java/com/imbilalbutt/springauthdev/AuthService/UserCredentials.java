@@ -0,0 +1,55 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.commons.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The slice of {@link User} that request authentication needs, loaded by
+ * {@link UserRepository#findCredentialsByEmail(String)}. It is a plain DTO rather than a managed
+ * entity, so a lookup neither populates the persistence context nor gets dirty-checked at flush.
+ */
+@Getter
+@AllArgsConstructor
+public class UserCredentials implements UserDetails {
+
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority(role.name())));
+        }
+    }
+
+    private final Integer id;
+    private final String email;
+    private final String password;
+    private final Role role;
+    private final boolean enabled;
+    private final boolean locked;
+    private final LocalDateTime accountLockedUntil;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return !User.isLockActive(locked, accountLockedUntil, LocalDateTime.now());
+    }
+}
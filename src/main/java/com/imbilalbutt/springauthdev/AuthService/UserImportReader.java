@@ -0,0 +1,202 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.commons.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a bulk import one row at a time, so the file is never held in memory. NDJSON rows are
+ * RegisterRequest objects; CSV needs a header naming its columns (firstname, lastname, email,
+ * password and optionally role and dateOfBirth, in any order); a missing or incomplete header is an
+ * IllegalArgumentException before any row is returned. A row that cannot be read comes back with an
+ * error instead of ending the import.
+ */
+public abstract class UserImportReader implements Closeable {
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    UserImportReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    public static UserImportReader ndjson(Reader reader, ObjectMapper objectMapper) {
+        return new NdjsonReader(reader, objectMapper);
+    }
+
+    // Reads the header straight away, so a bad one is reported before any output is produced
+    public static UserImportReader csv(Reader reader) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+        csvReader.readHeader();
+        return csvReader;
+    }
+
+    // Null once the input is exhausted; blank lines are skipped
+    public Row next() throws IOException {
+        String line = nextLine();
+        return line != null ? parse(lineNumber, line) : null;
+    }
+
+    String nextLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    abstract Row parse(long lineNumber, String line);
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Row {
+        private final long line;
+        private final RegisterRequest request;
+        private final String error;
+
+        static Row failed(long line, String error) {
+            return new Row(line, null, error);
+        }
+    }
+
+    private static class NdjsonReader extends UserImportReader {
+
+        private final ObjectMapper objectMapper;
+
+        NdjsonReader(Reader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row parse(long lineNumber, String line) {
+            try {
+                return new Row(lineNumber, objectMapper.readValue(line, RegisterRequest.class), null);
+            } catch (JacksonException e) {
+                return Row.failed(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static class CsvReader extends UserImportReader {
+
+        private static final List<String> REQUIRED = List.of("firstname", "lastname", "email", "password");
+
+        private Map<String, Integer> columns;
+
+        CsvReader(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        Row parse(long lineNumber, String line) {
+            List<String> fields = split(line);
+            if (fields == null) {
+                return Row.failed(lineNumber, "Unterminated quoted field");
+            }
+            if (fields.size() != columns.size()) {
+                return Row.failed(lineNumber, "Expected " + columns.size() + " fields but found " + fields.size());
+            }
+            String role = field(fields, "role");
+            String dateOfBirth = field(fields, "dateofbirth");
+            RegisterRequest.RegisterRequestBuilder request = RegisterRequest.builder()
+                    .firstname(field(fields, "firstname"))
+                    .lastname(field(fields, "lastname"))
+                    .email(field(fields, "email"))
+                    .password(field(fields, "password"));
+            if (role != null && !role.isEmpty()) {
+                try {
+                    request.role(Role.valueOf(role.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    return Row.failed(lineNumber, "Unknown role: " + role);
+                }
+            }
+            if (dateOfBirth != null && !dateOfBirth.isEmpty()) {
+                try {
+                    request.dateOfBirth(LocalDate.parse(dateOfBirth));
+                } catch (DateTimeParseException e) {
+                    return Row.failed(lineNumber, "dateOfBirth must be an ISO date (yyyy-MM-dd): " + dateOfBirth);
+                }
+            }
+            return new Row(lineNumber, request.build(), null);
+        }
+
+        void readHeader() throws IOException {
+            String line = nextLine();
+            List<String> fields = line != null ? split(line) : null;
+            if (fields == null) {
+                throw new IllegalArgumentException("CSV import needs a header line");
+            }
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                header.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String column : REQUIRED) {
+                if (!header.containsKey(column)) {
+                    throw new IllegalArgumentException(
+                            "CSV header must name firstname, lastname, email and password; missing " + column);
+                }
+            }
+            columns = header;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            return index == null ? null : fields.get(index);
+        }
+
+        // RFC 4180 fields within one line: quotes around a field, "" for a literal quote. Null if a quote is left open.
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.Config.BoundedPasswordEncoder;
+import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
+import com.imbilalbutt.springauthdev.Outbox.OutboxEventType;
+import com.imbilalbutt.springauthdev.Outbox.OutboxPublisher;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk account creation for onboarding. Rows are taken in chunks: each chunk is validated, checked
+ * against existing emails in one query, hashed in parallel on a dedicated fork-join pool and inserted
+ * in one transaction through Hibernate's JDBC batching, together with a USER_REGISTERED outbox event per
+ * account (see {@link UserRegisteredHandler}). Rejected rows are written to the output as
+ * NDJSON as soon as their chunk is done, followed by a summary line.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    // BCrypt only reads the first 72 bytes and Spring's encoder refuses anything longer
+    static final int MAX_PASSWORD_BYTES = 72;
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final OutboxPublisher outboxPublisher;
+    private final SecurityAuditLogger auditLogger;
+    private final ForkJoinPool hashingPool;
+    private final int chunkSize;
+
+    public UserImportService(UserRepository userRepository,
+                             EntityManager entityManager,
+                             TransactionTemplate transactionTemplate,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             PasswordEncoder passwordEncoder,
+                             OutboxPublisher outboxPublisher,
+                             SecurityAuditLogger auditLogger,
+                             @Value("${import.users.hashing-threads:0}") int hashingThreads,
+                             @Value("${import.users.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        // Imports bring their own threads; going through the login hashing pool would fill its queue
+        this.passwordEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.getDelegate() : passwordEncoder;
+        this.outboxPublisher = outboxPublisher;
+        this.auditLogger = auditLogger;
+        this.hashingPool = new ForkJoinPool(hashingThreads > 0
+                ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        this.chunkSize = chunkSize;
+    }
+
+    public void importUsers(UserImportReader reader, Writer out) throws IOException {
+        long started = System.nanoTime();
+        Counts counts = new Counts();
+        List<UserImportReader.Row> chunk = new ArrayList<>(chunkSize);
+        UserImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, out, counts);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, out, counts);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("imported", counts.imported);
+        summary.put("failed", counts.failed);
+        writeLine(out, summary);
+        out.flush();
+        log.info("User import finished: {} imported, {} failed in {} ms",
+                counts.imported, counts.failed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void importChunk(List<UserImportReader.Row> rows, Writer out, Counts counts) throws IOException {
+        List<UserImportReader.Row> accepted = new ArrayList<>(rows.size());
+        Set<String> emails = new HashSet<>();
+        for (UserImportReader.Row row : rows) {
+            String error = row.getError() != null ? row.getError() : validate(row.getRequest());
+            if (error == null && !emails.add(row.getRequest().getEmail())) {
+                error = "Duplicate email in this import";
+            }
+            if (error != null) {
+                reject(out, counts, row, error);
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            Set<String> existing = new HashSet<>(userRepository.findExistingEmails(emails));
+            if (!existing.isEmpty()) {
+                List<UserImportReader.Row> fresh = new ArrayList<>(accepted.size());
+                for (UserImportReader.Row row : accepted) {
+                    if (existing.contains(row.getRequest().getEmail())) {
+                        reject(out, counts, row, new UserAlreadyExistsException(row.getRequest().getEmail()).getMessage());
+                    } else {
+                        fresh.add(row);
+                    }
+                }
+                accepted = fresh;
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            insert(accepted, hash(accepted), out, counts);
+        }
+        out.flush();
+    }
+
+    private List<String> hash(List<UserImportReader.Row> rows) {
+        // A parallel stream started inside the pool runs on the pool's workers rather than the common pool
+        return hashingPool.submit(() -> rows.parallelStream()
+                .map(row -> passwordEncoder.encode(row.getRequest().getPassword()))
+                .toList()).join();
+    }
+
+    private void insert(List<UserImportReader.Row> rows, List<String> hashes, Writer out, Counts counts)
+            throws IOException {
+        // Imported accounts get the same follow-up as registrations, queued with their rows
+        String ipAddress = auditLogger.getClientIpAddress();
+        try {
+            List<User> users = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                users.add(UserRegistrar.newUser(rows.get(i).getRequest(), hashes.get(i)));
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                userRepository.flush();
+                Instant now = Instant.now();
+                Map<String, Map<String, Object>> events = new LinkedHashMap<>();
+                for (User user : users) {
+                    events.put(String.valueOf(user.getId()), UserRegistrar.registeredEvent(user, ipAddress, now));
+                }
+                outboxPublisher.publishAll(OutboxEventType.USER_REGISTERED, events);
+            });
+            counts.imported += rows.size();
+        } catch (DataIntegrityViolationException e) {
+            // Most likely someone registered one of these emails since the check; find which row, one at a time
+            entityManager.clear();
+            for (int i = 0; i < rows.size(); i++) {
+                User user = UserRegistrar.newUser(rows.get(i).getRequest(), hashes.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        userRepository.saveAndFlush(user);
+                        outboxPublisher.publish(OutboxEventType.USER_REGISTERED, String.valueOf(user.getId()),
+                                UserRegistrar.registeredEvent(user, ipAddress, Instant.now()));
+                    });
+                    counts.imported++;
+                } catch (DataIntegrityViolationException conflict) {
+                    if (UserRegistrar.isDuplicateEmail(conflict)) {
+                        reject(out, counts, rows.get(i), new UserAlreadyExistsException(user.getEmail()).getMessage());
+                    } else {
+                        log.warn("Import row {} rejected by the database: {}",
+                                rows.get(i).getLine(), conflict.getMostSpecificCause().getMessage());
+                        reject(out, counts, rows.get(i), "Rejected by the database");
+                    }
+                }
+            }
+        } finally {
+            // The request's open-in-view EntityManager outlives these transactions; keep it from growing
+            entityManager.clear();
+        }
+    }
+
+    private String validate(RegisterRequest request) {
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            // Checked here so one long password is a rejected row rather than a failed hashing stream
+            if (request.getPassword().getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES) {
+                return "password: must not exceed " + MAX_PASSWORD_BYTES + " bytes";
+            }
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void reject(Writer out, Counts counts, UserImportReader.Row row, String error) throws IOException {
+        counts.failed++;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("line", row.getLine());
+        if (row.getRequest() != null) {
+            result.put("email", row.getRequest().getEmail());
+        }
+        result.put("error", error);
+        writeLine(out, result);
+    }
+
+    private void writeLine(Writer out, Map<String, Object> value) throws IOException {
+        out.write(objectMapper.writeValueAsString(value));
+        out.write('\n');
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private static final class Counts {
+        private long imported;
+        private long failed;
+    }
+}
@@ -0,0 +1,11 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import java.util.Optional;
+
+// Email lookups by natural id, which the second-level natural-id cache can answer; see UserNaturalIdRepositoryImpl
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+}
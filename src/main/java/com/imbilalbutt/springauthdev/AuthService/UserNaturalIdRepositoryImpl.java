@@ -0,0 +1,44 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * A derived findByEmail query always goes to the database, even with the entity cached. Loading by
+ * natural id lets Hibernate resolve email to id from the natural-id cache and the entity from the
+ * entity cache; with the cache off it is a single select by email, as before. existsByEmail only
+ * goes through the caches when they are on; otherwise it selects the id alone.
+ */
+@Transactional(readOnly = true)
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${user.cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if (cacheEnabled) {
+            // usually answered from the caches without a query
+            return findByEmail(email).isPresent();
+        }
+        // uncached, an id probe is cheaper than loading the whole row
+        return !entityManager.createQuery("SELECT u.id FROM User u WHERE u.email = :email", Integer.class)
+                .setParameter("email", email)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+}
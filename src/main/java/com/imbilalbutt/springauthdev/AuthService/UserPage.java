@@ -0,0 +1,18 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of the admin user listing; pass nextAfterId back as afterId for the next page, null when done
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserPage {
+    private List<UserDTO> users;
+    private Integer nextAfterId;
+}
@@ -0,0 +1,51 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
+import com.imbilalbutt.springauthdev.Outbox.OutboxEvent;
+import com.imbilalbutt.springauthdev.Outbox.OutboxEventType;
+import com.imbilalbutt.springauthdev.Outbox.OutboxHandler;
+import com.imbilalbutt.springauthdev.Token.UserTokenPurpose;
+import com.imbilalbutt.springauthdev.Token.UserTokenStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Registration side effects, delivered from the outbox after the account has committed
+@Component
+@Slf4j
+public class UserRegisteredHandler implements OutboxHandler {
+
+    private final UserTokenStore userTokenStore;
+    private final SecurityAuditLogger auditLogger;
+    private final Duration verificationTtl;
+
+    public UserRegisteredHandler(UserTokenStore userTokenStore,
+                                 SecurityAuditLogger auditLogger,
+                                 @Value("${user.tokens.email-verification-ttl-hours:168}") long verificationTtlHours) {
+        this.userTokenStore = userTokenStore;
+        this.auditLogger = auditLogger;
+        this.verificationTtl = Duration.ofHours(verificationTtlHours);
+    }
+
+    @Override
+    public OutboxEventType type() {
+        return OutboxEventType.USER_REGISTERED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        Integer userId = Integer.valueOf(event.getAggregateId());
+        String email = (String) event.getPayload().get("email");
+
+        // Absent on redelivery: the first delivery already issued one. Only the hash is stored, so this is
+        // the one place the plaintext exists; a mail sender would take it from here.
+        if (userTokenStore.issueIfAbsent(userId, UserTokenPurpose.EMAIL_VERIFICATION, verificationTtl).isPresent()) {
+            log.debug("Email verification token issued for user {}", userId);
+        }
+        auditLogger.logRegistration(email, (String) event.getPayload().get("ipAddress"),
+                Instant.parse((String) event.getPayload().get("registeredAt")));
+    }
+}
@@ -0,0 +1,122 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.Config.BoundedPasswordEncoder;
+import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
+import com.imbilalbutt.springauthdev.Outbox.OutboxEventType;
+import com.imbilalbutt.springauthdev.Outbox.OutboxPublisher;
+import com.imbilalbutt.springauthdev.commons.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Creates user accounts insert-first: the row goes in straight away and the unique index on
+ * {@code _user.email} decides duplicates, so there is no exists-check to race against. BCrypt runs
+ * alongside the insert on the bounded hashing pool (or after it, on the calling thread, when there is
+ * no pool) and its hash replaces the placeholder before the transaction commits; nothing
+ * outside the transaction can see the placeholder. Follow-up work (audit, email verification) is
+ * queued in the outbox in the same transaction and handled by {@link UserRegisteredHandler}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserRegistrar {
+
+    // Not a valid BCrypt string, so it can never match a password even if it were read
+    static final String PENDING_HASH = "{pending}";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final OutboxPublisher outboxPublisher;
+    private final SecurityAuditLogger auditLogger;
+
+    @Transactional
+    public User register(RegisterRequest request) {
+        // Overlapped only on the bounded hashing pool; a plain encoder hashes on this thread after the insert
+        CompletableFuture<String> hash = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.encodeAsync(request.getPassword()) : null;
+
+        User user = newUser(request, PENDING_HASH);
+
+        try {
+            // A concurrent insert of the same email blocks on the index until the other transaction ends
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (hash != null) {
+                hash.cancel(false);
+            }
+            if (!isDuplicateEmail(e)) {
+                throw e;
+            }
+            log.warn("Registration failed - user already exists: {}", request.getEmail());
+            throw new UserAlreadyExistsException(request.getEmail());
+        }
+
+        // The client IP is only visible on the request thread, so it travels with the event
+        outboxPublisher.publish(OutboxEventType.USER_REGISTERED, String.valueOf(user.getId()),
+                registeredEvent(user, auditLogger.getClientIpAddress(), Instant.now()));
+
+        // Flushed as an UPDATE at commit
+        user.setPassword(hash != null ? awaitHash(hash) : passwordEncoder.encode(request.getPassword()));
+        return user;
+    }
+
+    // A new, enabled, unverified account; shared with the bulk import
+    static User newUser(RegisterRequest request, String passwordHash) {
+        return User.builder()
+                .firstname(request.getFirstname())
+                .lastname(request.getLastname())
+                .email(request.getEmail())
+                .password(passwordHash)
+                .role(request.getRole() != null ? request.getRole() : Role.USER)
+                .enabled(true)
+                .locked(false)
+                .createdDate(LocalDateTime.now())
+                .dateOfBirth(request.getDateOfBirth())
+                .failedLoginAttempts(0)
+                .emailVerified(false)
+                .build();
+    }
+
+    // USER_REGISTERED payload; shared with the bulk import
+    static Map<String, Object> registeredEvent(User user, String ipAddress, Instant registeredAt) {
+        return Map.of(
+                "email", user.getEmail(),
+                "ipAddress", ipAddress,
+                "registeredAt", registeredAt.toString());
+    }
+
+    // Only the email unique index means "already registered"; any other violation is a genuine error
+    static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String constraint = cause instanceof ConstraintViolationException violation
+                    ? violation.getConstraintName() : cause.getMessage();
+            if (constraint != null && constraint.toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String awaitHash(CompletableFuture<String> hash) {
+        try {
+            return hash.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -8,36 +8,38 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+// Reads run in read-only transactions, which DataSourceRoutingConfiguration sends to the replica when one is set
 @Repository
-public interface UserRepository extends JpaRepository<User, Integer> {
+@Transactional(readOnly = true)
+public interface UserRepository extends JpaRepository<User, Integer>, UserNaturalIdRepository,
+        UserAccountStateRepository {
 
-    Optional<User> findByEmail(String email);
+    // Authentication filters and DaoAuthenticationProvider only need these columns; see UserCredentials
+    String CREDENTIALS_BY_EMAIL = "SELECT new com.imbilalbutt.springauthdev.AuthService.UserCredentials("
+            + "u.id, u.email, u.password, u.role, u.enabled, u.locked, u.accountLockedUntil) FROM User u WHERE u.email = :email";
 
-    boolean existsByEmail(String email);
+    @Query(CREDENTIALS_BY_EMAIL)
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
 
-    Optional<User> findByEmailVerificationToken(String token);
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 
-    Optional<User> findByPasswordResetToken(String token);
+    // Read back inside the transaction that incremented it, so the row lock makes the value exact
+    @Query("SELECT u.failedLoginAttempts FROM User u WHERE u.id = :userId")
+    int findFailedLoginAttempts(@Param("userId") Integer userId);
 
-    @Modifying
-    @Transactional
-    @Query("UPDATE User u SET u.emailVerified = true, u.emailVerificationToken = NULL WHERE u.emailVerificationToken = :token")
-    void verifyEmailByToken(@Param("token") String token);
-
-    @Modifying
-    @Transactional
-    @Query("UPDATE User u SET u.passwordResetToken = NULL, u.passwordResetTokenExpiry = NULL WHERE u.id = :userId")
-    void clearPasswordResetToken(@Param("userId") Integer userId);
-
-    @Modifying
-    @Transactional
-    @Query("UPDATE User u SET u.failedLoginAttempts = 0 WHERE u.id = :userId")
-    void resetFailedLoginAttempts(@Param("userId") Integer userId);
+    // Served by the partial index idx_user_account_locked_until (V8), like the update below
+    @Query("SELECT count(u) FROM User u WHERE u.locked = true AND u.accountLockedUntil <= :now")
+    long countExpiredLocks(@Param("now") LocalDateTime now);
 
+    // Served by the partial index idx_user_account_locked_until (V8)
     @Modifying
     @Transactional
-    @Query("UPDATE User u SET u.failedLoginAttempts = :attempts, u.locked = true, u.accountLockedUntil = :lockedUntil WHERE u.id = :userId")
-    void lockAccount(@Param("userId") Integer userId, @Param("attempts") int attempts, @Param("lockedUntil") LocalDateTime lockedUntil);
+    @Query("UPDATE User u SET u.locked = false, u.accountLockedUntil = NULL, u.failedLoginAttempts = 0 "
+            + "WHERE u.locked = true AND u.accountLockedUntil <= :now")
+    int clearExpiredLocks(@Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -17,6 +18,7 @@ import java.time.LocalDateTime;
 @Controller
 @RequestMapping("/ui/auth/redis")
 @RequiredArgsConstructor
+@Slf4j
 public class WebUIRedisController {
 
     private final WebUserService userService; // Use UserService instead of ApiUserService
@@ -151,7 +153,14 @@ public class WebUIRedisController {
 
             return "redirect:/ui/auth/redis/dashboard";
 
+        } catch (AuthFailure e) {
+            // expected rejection: no stack trace to capture or log
+            redirectAttributes.addFlashAttribute("errorMessage",
+                    "Invalid email or password!");
+            redirectAttributes.addFlashAttribute("authRequest", authRequest);
+            return "redirect:/ui/auth/redis/login?error";
         } catch (Exception e) {
+            log.error("Login failed unexpectedly for {}", authRequest.getEmail(), e);
             redirectAttributes.addFlashAttribute("errorMessage",
                     "Invalid email or password!");
             redirectAttributes.addFlashAttribute("authRequest", authRequest);
@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 @Controller
 @RequestMapping("/ui/auth/servlet")
 @RequiredArgsConstructor
+@Slf4j
 public class WebUIServletController {
 
     private final ApiUserService apiUserService;
@@ -128,7 +130,14 @@ public class WebUIServletController {
 
             return "redirect:/ui/dashboard";
 
+        } catch (AuthFailure e) {
+            // expected rejection: no stack trace to capture or log
+            redirectAttributes.addFlashAttribute("errorMessage",
+                    "Invalid email or password!");
+            redirectAttributes.addFlashAttribute("authRequest", authRequest);
+            return "redirect:/ui/login?error";
         } catch (Exception e) {
+            log.error("Login failed unexpectedly for {}", authRequest.getEmail(), e);
             redirectAttributes.addFlashAttribute("errorMessage",
                     "Invalid email or password!");
             redirectAttributes.addFlashAttribute("authRequest", authRequest);
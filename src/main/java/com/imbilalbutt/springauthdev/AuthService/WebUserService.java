@@ -6,6 +6,11 @@ public interface WebUserService {
 
     AuthenticationResponse authenticate(AuthenticationRequest request);
 
+    // Blocking credential check (JDBC and BCrypt) without creating a session; throws AuthFailure
+    User verifyCredentials(AuthenticationRequest request);
+
+    AuthenticationResponse sessionResponse(User user, String sessionId);
+
     User createUserAccount(RegisterRequest request);
 
     boolean userExists(String email);
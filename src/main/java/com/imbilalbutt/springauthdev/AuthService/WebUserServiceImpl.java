@@ -1,16 +1,12 @@
 package com.imbilalbutt.springauthdev.AuthService;
 
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure.Reason;
 import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
 import com.imbilalbutt.springauthdev.Session.Redis.SessionRegistry;
-import com.imbilalbutt.springauthdev.commons.Role;
+import com.imbilalbutt.springauthdev.Token.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.LockedException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,10 +20,12 @@ import java.time.LocalDateTime;
 public class WebUserServiceImpl implements WebUserService{
 
     private final UserRepository userRepository;
-    private final AuthenticationManager authenticationManager;
+    private final UserRegistrar userRegistrar;
     private final SessionRegistry sessionRegistry;
     private final PasswordEncoder passwordEncoder;
     private final SecurityAuditLogger auditLogger;
+    private final LoginActivityRecorder loginActivityRecorder;
+    private final RefreshTokenService refreshTokenService;
 
     @Value("${rate.limit.max-login-attempts:5}")
     private int maxLoginAttempts;
@@ -40,81 +38,84 @@ public class WebUserServiceImpl implements WebUserService{
     public AuthenticationResponse register(RegisterRequest request) {
         log.info("Attempting to register user with email: {}", request.getEmail());
 
-        if (userExists(request.getEmail())) {
-            log.warn("Registration failed - user already exists: {}", request.getEmail());
-            throw new IllegalArgumentException("User with email " + request.getEmail() + " already exists");
-        }
-
         var user = createUserAccount(request);
         var sessionId = sessionRegistry.registerSession(user.getEmail());
 
-        auditLogger.logRegistration(user.getEmail());
         log.info("User registered successfully: {}", request.getEmail());
 
-        return AuthenticationResponse.builder()
-                .sessionToken(sessionId)
-                .tokenType("Session")
-                .email(user.getEmail())
-                .firstname(user.getFirstname())
-                .lastname(user.getLastname())
-                .role(user.getRole())
-                .build();
+        return sessionResponse(user, sessionId);
     }
 
     @Override
+    @Transactional(noRollbackFor = AuthFailure.class)
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
+        User user = verifyCredentials(request);
+        String sessionId = sessionRegistry.registerSession(user.getEmail());
+
+        return sessionResponse(user, sessionId);
+    }
+
+    @Override
+    // Read-write, so the lookup and the counters go to the primary rather than a lagging replica;
+    // the rejection is the expected outcome, so it must not roll back the failure count
+    @Transactional(noRollbackFor = AuthFailure.class)
+    public User verifyCredentials(AuthenticationRequest request) {
         log.info("Authentication attempt for email: {}", request.getEmail());
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> {
-                    auditLogger.logAuthenticationFailure(request.getEmail(), "User not found");
-                    return new UsernameNotFoundException("User not found");
-                });
+        // Expected failures throw stackless AuthFailure signals instead of full exceptions.
+        // The checks read the row itself, never the entity cache, so a lock applied elsewhere applies at once.
+        UserCredentials credentials = userRepository.findCredentialsByEmail(request.getEmail()).orElse(null);
+        if (credentials == null) {
+            auditLogger.logAuthenticationFailure(request.getEmail(), "User not found");
+            throw new AuthFailure(Reason.INVALID_CREDENTIALS);
+        }
 
-        if (!user.isEnabled()) {
+        if (!credentials.isEnabled()) {
             auditLogger.logAuthenticationFailure(request.getEmail(), "Account disabled");
-            throw new BadCredentialsException("Account is disabled");
+            throw new AuthFailure(Reason.ACCOUNT_DISABLED);
         }
 
-        if (!user.isAccountNonLocked()) {
+        if (!credentials.isAccountNonLocked()) {
             auditLogger.logAuthenticationFailure(request.getEmail(), "Account locked");
-            throw new LockedException("Account is locked");
+            throw new AuthFailure(Reason.ACCOUNT_LOCKED);
         }
 
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            request.getPassword()
-                    )
-            );
-
-            userRepository.resetFailedLoginAttempts(user.getId());
-            auditLogger.logAuthenticationSuccess(user.getEmail());
-            log.info("Authentication successful for: {}", request.getEmail());
-
-        } catch (BadCredentialsException e) {
-            user.incrementFailedLoginAttempts();
-            
-            if (user.getFailedLoginAttempts() >= maxLoginAttempts) {
+        // The credentials are already loaded and checked, so verify the hash directly rather than through the
+        // AuthenticationManager, which would load them again and throw a BadCredentialsException
+        if (!passwordEncoder.matches(request.getPassword(), credentials.getPassword())) {
+            // Targeted updates on the primary: concurrent failures each count, and a stale copy is never merged
+            userRepository.incrementFailedAttempts(credentials.getId(), LocalDateTime.now());
+            int failedAttempts = userRepository.findFailedLoginAttempts(credentials.getId());
+
+            if (failedAttempts >= maxLoginAttempts) {
                 LocalDateTime lockedUntil = LocalDateTime.now().plusMinutes(lockoutDurationMinutes);
-                user.setLocked(true);
-                user.setAccountLockedUntil(lockedUntil);
-                userRepository.save(user);
-                auditLogger.logAccountLockout(user.getEmail(), user.getFailedLoginAttempts());
+                userRepository.lockAccount(credentials.getId(), failedAttempts, lockedUntil);
+                auditLogger.logAccountLockout(credentials.getEmail(), failedAttempts);
+                // a lock must also end sessions that renew themselves with refresh tokens
+                refreshTokenService.revokeAll(credentials.getEmail());
                 log.warn("Account locked due to too many failed attempts: {}", request.getEmail());
-                throw new LockedException("Account locked due to too many failed login attempts");
+                throw new AuthFailure(Reason.ACCOUNT_LOCKED);
             }
-            
-            userRepository.save(user);
+
             auditLogger.logAuthenticationFailure(request.getEmail(), "Invalid credentials");
-            log.warn("Authentication failed for: {} (attempt {} of {})", request.getEmail(), 
-                    user.getFailedLoginAttempts(), maxLoginAttempts);
-            throw new BadCredentialsException("Invalid email or password");
+            log.warn("Authentication failed for: {} (attempt {} of {})", request.getEmail(),
+                    failedAttempts, maxLoginAttempts);
+            throw new AuthFailure(Reason.INVALID_CREDENTIALS);
         }
 
-        String sessionId = sessionRegistry.registerSession(user.getEmail());
+        // Matches no row, and writes nothing, unless there is something to reset
+        userRepository.resetFailedLoginAttempts(credentials.getId(), LocalDateTime.now());
+        // Names and role for the response; the entity cache may serve these
+        User user = userRepository.findById(credentials.getId())
+                .orElseThrow(() -> new AuthFailure(Reason.INVALID_CREDENTIALS));
+        loginActivityRecorder.recordLogin(user.getId());
+        auditLogger.logAuthenticationSuccess(user.getEmail());
+        log.info("Authentication successful for: {}", request.getEmail());
+        return user;
+    }
 
+    @Override
+    public AuthenticationResponse sessionResponse(User user, String sessionId) {
         return AuthenticationResponse.builder()
                 .sessionToken(sessionId)
                 .tokenType("Session")
@@ -125,24 +126,11 @@ public class WebUserServiceImpl implements WebUserService{
                 .build();
     }
 
+    // Throws UserAlreadyExistsException when the email is taken, including by a concurrent registration
     @Override
     @Transactional
     public User createUserAccount(RegisterRequest request) {
-        var user = User.builder()
-                .firstname(request.getFirstname())
-                .lastname(request.getLastname())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .role(request.getRole() != null ? request.getRole() : Role.USER)
-                .enabled(true)
-                .locked(false)
-                .createdDate(LocalDateTime.now())
-                .dateOfBirth(request.getDateOfBirth())
-                .failedLoginAttempts(0)
-                .emailVerified(false)
-                .build();
-
-        return userRepository.save(user);
+        return userRegistrar.register(request);
     }
 
     @Override
@@ -3,6 +3,7 @@ package com.imbilalbutt.springauthdev.Config;
 
 import com.imbilalbutt.springauthdev.AuthService.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,17 +24,17 @@ public class ApplicationConfig {
 //    // 1. Tells Spring Security WHERE to load users from
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> userRepository.findCredentialsByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
 
     // 3. Tells Spring Security the AUTHENTICATION STRATEGY (username/password)
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService());  // Where to get users
         try {
-            authProvider.setPasswordEncoder(passwordEncoder());  // How to check password
+            authProvider.setPasswordEncoder(passwordEncoder);  // How to check password
         } catch (NoSuchMethodError e) {
             // For older versions, create with constructor
             authProvider = new DaoAuthenticationProvider(userDetailsService());
@@ -49,8 +50,17 @@ public class ApplicationConfig {
 
 
     // 2. Tells Spring Security HOW to encode/verify passwords
+    // With virtual threads on, BCrypt moves to a bounded platform pool so it cannot occupy every carrier
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.hashing-pool.enabled:${spring.threads.virtual.enabled:false}}") boolean pooled,
+            @Value("${security.password.hashing-pool.threads:0}") int threads,
+            @Value("${security.password.hashing-pool.queue-capacity:512}") int queueCapacity) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        if (!pooled) {
+            return bcrypt;
+        }
+        return new BoundedPasswordEncoder(bcrypt,
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), queueCapacity);
     }
 }
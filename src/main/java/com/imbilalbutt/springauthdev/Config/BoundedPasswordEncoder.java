@@ -0,0 +1,108 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure;
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure.Reason;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a fixed pool of platform threads. With virtual threads nothing limits how
+ * many requests hash at once, and BCrypt would occupy every carrier thread; here at most one hash
+ * per pool thread runs, a bounded queue absorbs bursts, and anything beyond it is refused with 503.
+ * Callers block on the result, which parks a virtual thread without holding its carrier.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity) {
+        this.delegate = delegate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // For callers that have other work to overlap with the hash; refused like encode when the queue is full
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> delegate.encode(rawPassword), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue is full ({} waiting); refusing the request", executor.getQueue().size());
+            throw new AuthFailure(Reason.HASHING_BUSY);
+        }
+    }
+
+    // Cheap string inspection, no hashing involved
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> result;
+        try {
+            result = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue is full ({} waiting); refusing the request", executor.getQueue().size());
+            throw new AuthFailure(Reason.HASHING_BUSY);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // The underlying encoder, for batch work that brings its own threads
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    // Inferred as the bean's destroy method
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
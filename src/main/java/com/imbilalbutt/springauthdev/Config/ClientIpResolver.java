@@ -0,0 +1,69 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Resolves the client address used for rate limiting, stuffing detection and the audit trail.
+ * Forwarding headers are only believed when the direct peer is a configured proxy, and
+ * X-Forwarded-For is read right to left so a client cannot choose its own address by prepending one.
+ */
+@Component
+public class ClientIpResolver {
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public ClientIpResolver(@Value("${security.trusted-proxies:}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isBlank()) {
+            String[] hops = xForwardedFor.split(",");
+            // the nearest hop no proxy of ours vouches for is the client; everything left of it is hearsay
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (!hop.isEmpty() && (!isTrusted(hop) || i == 0)) {
+                    return hop;
+                }
+            }
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isBlank()) {
+            return xRealIp.trim();
+        }
+        return remoteAddr;
+    }
+
+    private boolean isTrusted(String address) {
+        if (address == null) {
+            return false;
+        }
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // not an IP literal
+                return false;
+            }
+        }
+        return false;
+    }
+}
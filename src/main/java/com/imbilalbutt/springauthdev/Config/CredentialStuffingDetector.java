@@ -0,0 +1,171 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import com.imbilalbutt.springauthdev.commons.CountMinSketch;
+import com.imbilalbutt.springauthdev.commons.Hashing;
+import com.imbilalbutt.springauthdev.commons.HeavyHitters;
+import com.imbilalbutt.springauthdev.commons.HyperLogLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Spots credential stuffing across accounts: failed sign-ins per IP and per subnet, and the number of
+ * distinct emails each of the heaviest IPs has tried. All state lives in fixed-size sketches, so memory
+ * is bounded by configuration rather than by how many addresses an attacker rotates through.
+ */
+@Component
+@Slf4j
+public class CredentialStuffingDetector {
+
+    private final boolean enabled;
+    private final int ipFailureThreshold;
+    private final int subnetFailureThreshold;
+    private final int distinctUsernameThreshold;
+    private final CountMinSketch ipFailures;
+    private final CountMinSketch subnetFailures;
+    // The spraying flag lives on the tracked entry, so it goes when the IP is evicted or decays away
+    private final HeavyHitters<Offender> offenders;
+
+    public CredentialStuffingDetector(@Value("${security.stuffing.enabled:true}") boolean enabled,
+                                      @Value("${security.stuffing.ip-failure-threshold:50}") int ipFailureThreshold,
+                                      @Value("${security.stuffing.subnet-failure-threshold:200}") int subnetFailureThreshold,
+                                      @Value("${security.stuffing.distinct-username-threshold:20}") int distinctUsernameThreshold,
+                                      @Value("${security.stuffing.sketch-width:4096}") int sketchWidth,
+                                      @Value("${security.stuffing.sketch-depth:4}") int sketchDepth,
+                                      @Value("${security.stuffing.top-k:256}") int topK,
+                                      @Value("${security.stuffing.hll-precision:10}") int hllPrecision) {
+        this.enabled = enabled;
+        this.ipFailureThreshold = ipFailureThreshold;
+        this.subnetFailureThreshold = subnetFailureThreshold;
+        this.distinctUsernameThreshold = distinctUsernameThreshold;
+        this.ipFailures = new CountMinSketch(sketchWidth, sketchDepth);
+        this.subnetFailures = new CountMinSketch(sketchWidth, sketchDepth);
+        this.offenders = new HeavyHitters<>(topK, () -> new Offender(new HyperLogLog(hllPrecision)), Offender::reset);
+    }
+
+    public void recordFailure(String ip, String username) {
+        if (!enabled || !isKnown(ip)) {
+            return;
+        }
+        int ipCount = ipFailures.increment(Hashing.hash64(ip));
+        int subnetCount = subnetFailures.increment(Hashing.hash64(subnet(ip)));
+        if (ipCount == ipFailureThreshold) {
+            log.warn("Credential stuffing suspected: {} failed sign-ins from IP {}", ipCount, ip);
+        }
+        if (subnetCount == subnetFailureThreshold) {
+            log.warn("Credential stuffing suspected: {} failed sign-ins from subnet {}", subnetCount, subnet(ip));
+        }
+
+        long usernameHash = Hashing.hash64(username == null ? "" : username.toLowerCase(Locale.ROOT));
+        synchronized (offenders) {
+            Offender offender = offenders.increment(ip).getPayload();
+            HyperLogLog usernames = offender.usernames;
+            if (usernames.add(usernameHash) && usernames.estimate() >= distinctUsernameThreshold && !offender.spraying) {
+                offender.spraying = true;
+                log.warn("Credential stuffing suspected: IP {} tried {} distinct accounts", ip, usernames.estimate());
+            }
+        }
+    }
+
+    // Called on the request path before the credentials are checked, so it must stay cheap
+    public boolean isBlocked(String ip) {
+        if (!enabled || !isKnown(ip)) {
+            return false;
+        }
+        if (ipFailures.estimate(Hashing.hash64(ip)) >= ipFailureThreshold
+                || subnetFailures.estimate(Hashing.hash64(subnet(ip))) >= subnetFailureThreshold) {
+            return true;
+        }
+        synchronized (offenders) {
+            HeavyHitters.Entry<Offender> entry = offenders.get(ip);
+            return entry != null && entry.getPayload().spraying;
+        }
+    }
+
+    public List<HeavyHitters.Entry<Offender>> getTopOffenders(int limit) {
+        synchronized (offenders) {
+            return offenders.top(limit);
+        }
+    }
+
+    // Exponential decay: offenders fall below the thresholds once they stop failing
+    @Scheduled(fixedRateString = "${security.stuffing.decay-interval-ms:300000}",
+            initialDelayString = "${security.stuffing.decay-interval-ms:300000}")
+    public void decay() {
+        ipFailures.halve();
+        subnetFailures.halve();
+        synchronized (offenders) {
+            offenders.decay();
+            // Distinct-account counts cannot be halved, so each interval starts a fresh window. A flagged IP
+            // stays flagged until its halving count reaches zero and it leaves the table.
+            offenders.forEachPayload(offender -> offender.usernames.clear());
+        }
+    }
+
+    // IPv4 /24 or IPv6 /64, derived textually so a forged header never triggers a DNS lookup
+    static String subnet(String ip) {
+        if (ip.indexOf(':') < 0) {
+            int lastDot = ip.lastIndexOf('.');
+            return lastDot > 0 ? ip.substring(0, lastDot) + ".0/24" : ip;
+        }
+        int zone = ip.indexOf('%');
+        String address = zone >= 0 ? ip.substring(0, zone) : ip;
+        int compressed = address.indexOf("::");
+        String[] head = groups(compressed >= 0 ? address.substring(0, compressed) : address);
+        String[] tail = compressed >= 0 ? groups(address.substring(compressed + 2)) : new String[0];
+        int zeros = 8 - head.length - tail.length;
+
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            String group;
+            if (i < head.length) {
+                group = head[i];
+            } else if (i < head.length + zeros) {
+                group = "0";
+            } else if (i - head.length - zeros < tail.length) {
+                group = tail[i - head.length - zeros];
+            } else {
+                return ip;
+            }
+            prefix.append(group.toLowerCase(Locale.ROOT)).append(':');
+        }
+        return prefix.append(":/64").toString();
+    }
+
+    private static String[] groups(String part) {
+        return part.isEmpty() ? new String[0] : part.split(":");
+    }
+
+    private static boolean isKnown(String ip) {
+        return ip != null && !ip.isEmpty() && !"unknown".equals(ip);
+    }
+
+    // Per tracked IP: the accounts it has tried this window and whether it has been caught spraying.
+    // Guarded by the offenders lock.
+    public static final class Offender {
+
+        private final HyperLogLog usernames;
+        private boolean spraying;
+
+        private Offender(HyperLogLog usernames) {
+            this.usernames = usernames;
+        }
+
+        private void reset() {
+            usernames.clear();
+            spraying = false;
+        }
+
+        public long getDistinctUsernames() {
+            return usernames.estimate();
+        }
+
+        public boolean isSpraying() {
+            return spraying;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary and replica Hikari pools behind a read-only router, enabled by setting
+ * spring.datasource.replica.url. Without it Boot's single auto-configured pool is used unchanged.
+ * Each pool keeps its own sizing (spring.datasource.hikari.* and spring.datasource.replica.hikari.*)
+ * and reports hikaricp.* metrics under its pool name.
+ */
+@Configuration
+@ConditionalOnExpression("'${spring.datasource.replica.url:}' != ''")
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${spring.datasource.replica.url}") String url,
+            @Value("${spring.datasource.replica.username:}") String username,
+            @Value("${spring.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${spring.datasource.replica.max-lag-ms:1000}") long maxLagMillis) {
+        return new ReplicaRoutingDataSource(primary, replica, maxLagMillis);
+    }
+
+    // What JPA, Flyway and JdbcTemplate see; the physical connection is picked at the first statement
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // Open-in-view keeps one session per request; holding its connection until the request ends would
+    // run a write on the replica connection a preceding read-only call picked
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+}
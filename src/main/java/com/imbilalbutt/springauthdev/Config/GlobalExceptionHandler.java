@@ -1,5 +1,6 @@
 package com.imbilalbutt.springauthdev.Config;
 
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -7,7 +8,9 @@ import io.jsonwebtoken.security.SignatureException;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AccountStatusException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -21,6 +24,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +34,30 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    // One prebuilt, read-only response per failure reason
+    private final Map<AuthFailure.Reason, ResponseEntity<byte[]>> authFailureResponses = authFailureResponses();
+
+    // Hot path under credential stuffing: no body or header objects are built per failure
+    @ExceptionHandler(AuthFailure.class)
+    public ResponseEntity<byte[]> handleAuthFailure(AuthFailure ex) {
+        log.debug("Authentication failure: {}", ex.getCode());
+        return authFailureResponses.get(ex.getReason());
+    }
+
+    private static Map<AuthFailure.Reason, ResponseEntity<byte[]>> authFailureResponses() {
+        Map<AuthFailure.Reason, ResponseEntity<byte[]>> responses = new EnumMap<>(AuthFailure.Reason.class);
+        for (AuthFailure.Reason reason : AuthFailure.Reason.values()) {
+            ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(reason.getStatus())
+                .contentType(MediaType.APPLICATION_JSON);
+            if (reason.getStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+                response.header(HttpHeaders.RETRY_AFTER, "1");
+            }
+            responses.put(reason, response.body(reason.getBody()));
+        }
+        return responses;
+    }
+
     @ExceptionHandler(UsernameNotFoundException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public ResponseEntity<ErrorResponse> handleUsernameNotFound(UsernameNotFoundException ex) {
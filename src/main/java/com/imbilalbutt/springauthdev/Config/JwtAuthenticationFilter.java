@@ -1,6 +1,8 @@
 package com.imbilalbutt.springauthdev.Config;
 
 
+import com.imbilalbutt.springauthdev.Token.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +25,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService revocationService;
 
     @Override
     protected void doFilterInternal(
@@ -40,12 +43,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        Claims claims = jwtService.parseToken(jwt);
+        userEmail = claims.getSubject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            // The user is loaded on every request anyway, so a lock or disable takes effect immediately;
+            // the revocation check only goes to Redis on a Bloom filter hit
+            if (jwtService.isTokenValid(claims, userDetails)
+                    && userDetails.isEnabled()
+                    && userDetails.isAccountNonLocked()
+                    && !revocationService.isRevoked(claims.getId())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -1,30 +1,62 @@
 package com.imbilalbutt.springauthdev.Config;
 
+import com.imbilalbutt.springauthdev.Token.HmacTokenMinter;
+import com.imbilalbutt.springauthdev.Token.SigningKey;
+import com.imbilalbutt.springauthdev.Token.SigningKeyRegistry;
+import com.imbilalbutt.springauthdev.Token.TokenProfile;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 // Class to process JWT token and extract User information
 @Service
 public class JwtService {
 
+    private static final SecureRandom TOKEN_ID_RANDOM = new SecureRandom();
+
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
 
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${application.security.jwt.profile:STANDARD}")
+    private TokenProfile tokenProfile = TokenProfile.STANDARD;
+
+    // iat is informational here (validation uses exp), so the compact profile may leave it out
+    @Value("${application.security.jwt.include-issued-at:true}")
+    private boolean includeIssuedAt = true;
+
+    // Mints HS256 tokens without the jjwt builder; they verify exactly like builder-made ones
+    @Value("${application.security.jwt.fast-minting:true}")
+    private boolean fastMinting = true;
+
+    // Absent only when constructed by hand, e.g. in unit tests; then the shared secret signs with HS256
+    @Autowired(required = false)
+    private SigningKeyRegistry signingKeyRegistry;
+
+    private volatile JwtParser legacyParser;
+    // Rebuilt when the active key changes, e.g. after a key file reload
+    private volatile HmacTokenMinter minter;
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -34,15 +66,37 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    public String extractTokenId(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+
+    // Verifies the signature and expiry once; callers then read everything they need from the claims
+    public Claims parseToken(String token) {
+        return extractAllClaims(token);
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return parser()
                 .parseClaimsJws(token)
                 .getBody();
     }
 
+    // Parsers are immutable and thread-safe; the registry's one picks the verification key from the kid header
+    private JwtParser parser() {
+        if (signingKeyRegistry != null) {
+            return signingKeyRegistry.getParser();
+        }
+        JwtParser parser = legacyParser;
+        if (parser == null) {
+            parser = Jwts
+                    .parserBuilder()
+                    .setSigningKey(getSignInKey())
+                    .build();
+            legacyParser = parser;
+        }
+        return parser;
+    }
+
 //   In context of JSON web token, a Sign-in key is a secrct that is used to digitally sign JWT.
 //    The sign-in key is used tto create a signature part of JWT, which is used to verify that sender
 //    of JWT is "who" it claims it to be and ensure the message is not changed along the way.
@@ -56,30 +110,94 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        // No role claim: JwtAuthenticationFilter loads the user on every request for its lock and
+        // enabled state, and takes the authorities from there
+        return buildToken(extraClaims, userDetails.getUsername(), jwtExpiration);
+    }
+
+    // For refresh, where only the username is known and no database lookup is wanted; carries no roles
+    public String generateToken(String username) {
+        return buildToken(new HashMap<>(), username, jwtExpiration);
+    }
+
+    // Access token lifetime in milliseconds
+    public long getExpiration() {
+        return jwtExpiration;
     }
 
     private String buildToken(
             Map<String, Object> extraClaims,
-            UserDetails userDetails,
+            String subject,
             long expiration
     ) {
-        return Jwts
+        long now = System.currentTimeMillis();
+        boolean compact = tokenProfile == TokenProfile.COMPACT;
+        String tokenId = compact ? compactTokenId() : UUID.randomUUID().toString();
+        boolean withIssuedAt = !compact || includeIssuedAt;
+        SigningKey activeKey = signingKeyRegistry != null ? signingKeyRegistry.getActiveKey() : null;
+
+        if (fastMinting && (activeKey == null || activeKey.getAlgorithm() == SignatureAlgorithm.HS256)
+                && HmacTokenMinter.supports(extraClaims)) {
+            // jjwt writes whole seconds, so the fast path truncates the same way
+            return minter(activeKey).mint(extraClaims, subject, tokenId,
+                    withIssuedAt ? now / 1000 : -1, (now + expiration) / 1000);
+        }
+
+        JwtBuilder builder = Jwts
                 .builder()
                 .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .setSubject(subject)
+                .setId(tokenId)
+                .setExpiration(new Date(now + expiration));
+        if (withIssuedAt) {
+            builder.setIssuedAt(new Date(now));
+        }
+        if (activeKey != null) {
+            return builder
+                    .setHeaderParam(JwsHeader.KEY_ID, activeKey.getKid())
+                    .signWith(activeKey.getSigningKey(), activeKey.getAlgorithm())
+                    .compact();
+        }
+        return builder
                 .signWith(getSignInKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // Without a registry the token has no kid header, matching what the builder produced before.
+    // With one, the minter follows the key instance: a reload can put a new secret under an unchanged kid.
+    private HmacTokenMinter minter(SigningKey activeKey) {
+        HmacTokenMinter current = minter;
+        if (activeKey == null) {
+            if (current == null || current.getKid() != null) {
+                current = new HmacTokenMinter(null, getSignInKey());
+                minter = current;
+            }
+            return current;
+        }
+        if (current == null || current.getKey() != activeKey.getSigningKey()) {
+            current = new HmacTokenMinter(activeKey.getKid(), activeKey.getSigningKey());
+            minter = current;
+        }
+        return current;
+    }
+
+    // 128 random bits like a UUID, in 22 base64url characters instead of 36
+    private static String compactTokenId() {
+        byte[] id = new byte[16];
+        TOKEN_ID_RANDOM.nextBytes(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+    }
+
 //    Validate token to see if this Token belongs to this userDetails
     public boolean isTokenValid(String token, UserDetails userDetails) {
         final String username = extractUsername(token); // extract user name from token
         return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
     }
 
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
+    }
+
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
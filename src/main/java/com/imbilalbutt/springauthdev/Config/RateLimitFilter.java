@@ -8,6 +8,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -16,13 +17,28 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class RateLimitFilter extends OncePerRequestFilter {
 
+    // Endpoints that check a password; stuffing offenders are refused here before BCrypt runs
+    private static final Set<String> CREDENTIAL_ENDPOINTS = Set.of(
+            "/api/v1/auth/authenticate",
+            "/api/v2/session/login",
+            "/api/v2/reactive/session/login",
+            "/ui/auth/redis/login",
+            "/ui/auth/servlet/login");
+
+    // Gateway traffic arrives from a few IPs and is authenticated by its own key
+    private static final String INTROSPECTION_PATH = "/api/v1/auth/introspect/batch";
+
     private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final CredentialStuffingDetector stuffingDetector;
+    private final ClientIpResolver clientIpResolver;
     
     @Value("${rate.limit.requests-per-minute:60}")
     private int requestsPerMinute;
@@ -43,7 +59,20 @@ public class RateLimitFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        String ip = getClientIp(request);
+        String ip = clientIpResolver.resolve(request);
+
+        if (isCredentialRequest(request) && stuffingDetector.isBlocked(ip)) {
+            log.warn("Sign-in refused for suspected credential stuffing from IP: {}", ip);
+            response.setStatus(429);
+            response.setHeader("X-Rate-Limit-Retry-After-Seconds", "300");
+            response.getWriter().write("{\"error\": \"Too many requests\", \"message\": \"Too many failed sign-in attempts. Please try again later.\"}");
+            return;
+        }
+        if (!request.getRequestURI().startsWith("/api/")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         Bucket bucket = resolveBucket(ip);
 
         if (bucket.tryConsume(1)) {
@@ -58,23 +87,13 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
     }
 
-    private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        
-        return request.getRemoteAddr();
-    }
-
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
-        return !path.startsWith("/api/");
+        return (!path.startsWith("/api/") || path.equals(INTROSPECTION_PATH)) && !isCredentialRequest(request);
+    }
+
+    private boolean isCredentialRequest(HttpServletRequest request) {
+        return "POST".equals(request.getMethod()) && CREDENTIAL_ENDPOINTS.contains(request.getRequestURI());
     }
 }
@@ -0,0 +1,112 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to the primary.
+ * The replica's replay lag is polled; while it is above the limit or cannot be measured, read-only
+ * transactions fall back to the primary. Must sit behind a LazyConnectionDataSourceProxy, because the
+ * transaction manager asks for a connection before it marks the transaction read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    enum Route { PRIMARY, REPLICA }
+
+    // Zero when the replica has replayed everything it received, so an idle primary does not read as lag.
+    // A disconnected replica has also replayed all it received, so without a streaming WAL receiver the
+    // result is NULL: lag unknown. Unprivileged roles see a NULL status, hence only the receiver's presence.
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE COALESCE(status, 'streaming') = 'streaming')"
+            + " THEN NULL"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final DataSource replica;
+    private final long maxLagMillis;
+    // Unproven until the first lag check succeeds
+    private volatile boolean replicaUsable;
+    private volatile double lagMillis;
+    private volatile Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        if (!replicaUsable) {
+            Counter counter = fallbacks;
+            if (counter != null) {
+                counter.increment();
+            }
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval-ms:2000}")
+    public void checkReplicaLag() {
+        boolean usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(LAG_QUERY)) {
+            result.next();
+            double lag = result.getDouble(1);
+            // not receiving WAL: however current it looks, it is falling behind
+            boolean disconnected = result.wasNull();
+            lagMillis = disconnected ? Double.NaN : lag;
+            usable = !disconnected && lag <= maxLagMillis;
+        } catch (Exception e) {
+            log.debug("Replica lag check failed", e);
+            lagMillis = Double.NaN;
+            usable = false;
+        }
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Replica caught up ({} ms behind); routing read-only transactions to it again", (long) lagMillis);
+            } else {
+                log.warn("Replica is {} ms behind or unreachable; routing read-only transactions to the primary",
+                        Double.isNaN(lagMillis) ? "?" : (long) lagMillis);
+            }
+            replicaUsable = usable;
+        }
+    }
+
+    boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.replica.lag", this, source -> source.lagMillis)
+                .description("Replay lag of the read replica; NaN while it cannot be measured")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("db.replica.usable", this, source -> source.replicaUsable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(registry);
+        fallbacks = Counter.builder("db.replica.fallbacks")
+                .description("Read-only transactions sent to the primary because the replica lagged")
+                .register(registry);
+    }
+}
@@ -1,6 +1,8 @@
 package com.imbilalbutt.springauthdev.Config;
 
-import jakarta.servlet.http.HttpServletRequest;
+import com.imbilalbutt.springauthdev.Audit.AuditEvent;
+import com.imbilalbutt.springauthdev.Audit.AuditEventPipeline;
+import com.imbilalbutt.springauthdev.Audit.AuditEventType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -9,88 +11,94 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.Instant;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class SecurityAuditLogger {
 
-    private static final String AUDIT_LOGGER = "AUDIT";
+    private final AuditEventPipeline auditPipeline;
+    private final CredentialStuffingDetector stuffingDetector;
+    private final ClientIpResolver clientIpResolver;
 
     public void logAuthenticationSuccess(String username) {
-        String ipAddress = getClientIpAddress();
-        log.info("AUTH_SUCCESS: user={} ip={}", username, ipAddress);
+        publish(AuditEventType.AUTH_SUCCESS, username, null);
     }
 
     public void logAuthenticationFailure(String username, String reason) {
-        String ipAddress = getClientIpAddress();
-        log.warn("AUTH_FAILURE: user={} ip={} reason={}", username, ipAddress, reason);
+        String ip = getClientIpAddress();
+        stuffingDetector.recordFailure(ip, username);
+        publish(AuditEventType.AUTH_FAILURE, username, ip, reason);
     }
 
     public void logLogout(String username) {
-        String ipAddress = getClientIpAddress();
-        log.info("LOGOUT: user={} ip={}", username, ipAddress);
+        publish(AuditEventType.LOGOUT, username, null);
     }
 
     public void logPasswordChange(String username) {
-        String ipAddress = getClientIpAddress();
-        log.info("PASSWORD_CHANGE: user={} ip={}", username, ipAddress);
+        publish(AuditEventType.PASSWORD_CHANGE, username, null);
     }
 
     public void logPasswordResetRequest(String email) {
-        String ipAddress = getClientIpAddress();
-        log.info("PASSWORD_RESET_REQUEST: email={} ip={}", email, ipAddress);
+        publish(AuditEventType.PASSWORD_RESET_REQUEST, email, null);
     }
 
     public void logPasswordResetSuccess(String username) {
-        String ipAddress = getClientIpAddress();
-        log.info("PASSWORD_RESET_SUCCESS: user={} ip={}", username, ipAddress);
+        publish(AuditEventType.PASSWORD_RESET_SUCCESS, username, null);
     }
 
     public void logEmailVerification(String username) {
-        String ipAddress = getClientIpAddress();
-        log.info("EMAIL_VERIFIED: user={} ip={}", username, ipAddress);
+        publish(AuditEventType.EMAIL_VERIFIED, username, null);
     }
 
     public void logAccountLockout(String username, int failedAttempts) {
-        String ipAddress = getClientIpAddress();
-        log.warn("ACCOUNT_LOCKED: user={} ip={} failedAttempts={}", username, ipAddress, failedAttempts);
+        // the lockout replaces the failure event for the attempt that tripped it
+        String ip = getClientIpAddress();
+        stuffingDetector.recordFailure(ip, username);
+        publish(AuditEventType.ACCOUNT_LOCKED, username, ip, String.valueOf(failedAttempts));
     }
 
     public void logAccountUnlock(String username) {
-        String ipAddress = getClientIpAddress();
-        log.info("ACCOUNT_UNLOCKED: user={} ip={}", username, ipAddress);
+        publish(AuditEventType.ACCOUNT_UNLOCKED, username, null);
     }
 
     public void logRegistration(String email) {
-        String ipAddress = getClientIpAddress();
-        log.info("USER_REGISTERED: email={} ip={}", email, ipAddress);
+        publish(AuditEventType.USER_REGISTERED, email, null);
+    }
+
+    // For registrations delivered through the outbox, where the request is long gone
+    public void logRegistration(String email, String ipAddress, Instant occurredAt) {
+        auditPipeline.publish(new AuditEvent(AuditEventType.USER_REGISTERED, email, ipAddress, null, occurredAt));
     }
 
     public void logSessionCreated(String username, String sessionId) {
-        String ipAddress = getClientIpAddress();
-        log.info("SESSION_CREATED: user={} sessionId={} ip={}", username, sessionId, ipAddress);
+        publish(AuditEventType.SESSION_CREATED, username, sessionId);
     }
 
     public void logSessionInvalidated(String username, String sessionId) {
-        String ipAddress = getClientIpAddress();
-        log.info("SESSION_INVALIDATED: user={} sessionId={} ip={}", username, sessionId, ipAddress);
+        publish(AuditEventType.SESSION_INVALIDATED, username, sessionId);
     }
 
     public void logSuspiciousActivity(String activity, String username) {
-        String ipAddress = getClientIpAddress();
-        log.error("SUSPICIOUS_ACTIVITY: activity={} user={} ip={}", activity, username, ipAddress);
+        publish(AuditEventType.SUSPICIOUS_ACTIVITY, username, activity);
+    }
+
+    // The IP is resolved here because request attributes are not visible to the audit writer thread
+    private void publish(AuditEventType type, String username, String detail) {
+        publish(type, username, getClientIpAddress(), detail);
+    }
+
+    private void publish(AuditEventType type, String username, String ipAddress, String detail) {
+        auditPipeline.publish(new AuditEvent(type, username, ipAddress, detail, Instant.now()));
     }
 
-    private String getClientIpAddress() {
+    public String getClientIpAddress() {
         try {
             ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
             if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                String xForwardedFor = request.getHeader("X-Forwarded-For");
-                if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-                    return xForwardedFor.split(",")[0].trim();
-                }
-                return request.getRemoteAddr();
+                // same resolver as RateLimitFilter, so the stuffing detector sees the address it blocks
+                return clientIpResolver.resolve(attributes.getRequest());
             }
         } catch (Exception e) {
             log.debug("Could not determine client IP address", e);
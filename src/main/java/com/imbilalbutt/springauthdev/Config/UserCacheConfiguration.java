@@ -0,0 +1,68 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.imbilalbutt.springauthdev.AuthService.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for {@link User}, enabled with user.cache.enabled. Both regions are
+ * in-process Caffeine caches behind JCache, each with its own size bound and time-to-live.
+ * Writes through Hibernate, including bulk JPQL updates, invalidate this node's cache. Other nodes
+ * keep their copy until the TTL expires, so keep it short when running more than one instance.
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.cache.enabled", havingValue = "true")
+public class UserCacheConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager userCacheManager(
+            @Value("${user.cache.entity.max-entries:10000}") long entityMaxEntries,
+            @Value("${user.cache.entity.ttl-seconds:60}") long entityTtlSeconds,
+            @Value("${user.cache.natural-id.max-entries:10000}") long naturalIdMaxEntries,
+            @Value("${user.cache.natural-id.ttl-seconds:60}") long naturalIdTtlSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        createRegion(cacheManager, User.CACHE_REGION, entityMaxEntries, entityTtlSeconds);
+        createRegion(cacheManager, User.NATURAL_ID_CACHE_REGION, naturalIdMaxEntries, naturalIdTtlSeconds);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer userCacheHibernateProperties(CacheManager userCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", "true");
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", userCacheManager);
+            // Regions are all created above; an unknown one is a mistake, not something to default
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.put("hibernate.generate_statistics", "true");
+        };
+    }
+
+    @Bean
+    public UserCacheMetrics userCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return new UserCacheMetrics(entityManagerFactory);
+    }
+
+    // Hibernate keeps immutable disassembled state in the cache, so entries are stored by reference
+    private static void createRegion(CacheManager cacheManager, String name, long maxEntries, long ttlSeconds) {
+        if (cacheManager.getCache(name) != null) {
+            cacheManager.destroyCache(name);
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,55 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import com.imbilalbutt.springauthdev.AuthService.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+// Hit, miss and put counts and sizes of the User cache regions, as user.cache.* meters tagged by region
+public class UserCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public UserCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : List.of(User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION)) {
+            counter(registry, "user.cache.requests", region, "hit", CacheRegionStatistics::getHitCount);
+            counter(registry, "user.cache.requests", region, "miss", CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("user.cache.puts", this, metrics -> metrics.read(region, CacheRegionStatistics::getPutCount))
+                    .description("Entries written to the cache region")
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder("user.cache.size", this, metrics -> metrics.read(region, CacheRegionStatistics::getElementCountInMemory))
+                    .description("Entries held in the cache region")
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    private void counter(MeterRegistry registry, String name, String region, String result,
+                         ToDoubleFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder(name, this, metrics -> metrics.read(region, value))
+                .description("Second-level cache lookups by result")
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    // Statistics only know a region once Hibernate has built it
+    private double read(String region, ToDoubleFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics != null ? value.applyAsDouble(regionStatistics) : 0;
+    }
+}
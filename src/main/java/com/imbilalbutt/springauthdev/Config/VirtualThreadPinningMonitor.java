@@ -0,0 +1,121 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches the in-process JFR stream for virtual threads that block while pinned to their carrier
+ * (inside synchronized or native code). Pinning in the Redis or JDBC client defeats virtual threads,
+ * so each event is attributed to the client whose frames are on the stack, counted, and logged.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor implements MeterBinder {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // First match wins, so the client libraries are checked before the pool and driver beneath them
+    private static final List<Map.Entry<String, String>> PATHS = List.of(
+            Map.entry("io.lettuce.", "redis"),
+            Map.entry("org.springframework.data.redis.", "redis"),
+            Map.entry("com.zaxxer.hikari.", "hikari"),
+            Map.entry("org.postgresql.", "hikari"),
+            Map.entry("org.hibernate.", "hikari"));
+
+    private final Duration threshold;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${diagnostics.pinning.threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Watching for virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String path = classify(frames);
+        count(path);
+        log.warn("Virtual thread pinned for {} ms in {} path at {}",
+                event.getDuration().toMillis(), path, firstFrames(frames, 5));
+    }
+
+    static String classify(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod() == null) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            for (Map.Entry<String, String> path : PATHS) {
+                if (type.startsWith(path.getKey())) {
+                    return path.getValue();
+                }
+            }
+        }
+        return "other";
+    }
+
+    private static String firstFrames(List<RecordedFrame> frames, int limit) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < Math.min(limit, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            if (frame.getMethod() == null) {
+                continue;
+            }
+            description.append(i == 0 ? "" : " <- ")
+                    .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        return description.toString();
+    }
+
+    private void count(String path) {
+        MeterRegistry current = registry;
+        if (current == null) {
+            return;
+        }
+        counters.computeIfAbsent(path, p -> Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .tag("path", p)
+                .register(current)).increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.imbilalbutt.springauthdev.Outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+// A claimed outbox row; attempts counts this delivery
+@Getter
+@AllArgsConstructor
+public class OutboxEvent {
+
+    private final long id;
+    private final OutboxEventType type;
+    private final String aggregateId;
+    private final Map<String, Object> payload;
+    private final int attempts;
+}
@@ -0,0 +1,5 @@
+package com.imbilalbutt.springauthdev.Outbox;
+
+public enum OutboxEventType {
+    USER_REGISTERED
+}
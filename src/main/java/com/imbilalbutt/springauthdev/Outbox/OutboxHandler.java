@@ -0,0 +1,10 @@
+package com.imbilalbutt.springauthdev.Outbox;
+
+public interface OutboxHandler {
+
+    OutboxEventType type();
+
+    // Runs in the transaction that deletes the event, so database work here commits exactly once with it.
+    // Anything outside the database may see the same event again after a crash and must tolerate repeats.
+    void handle(OutboxEvent event);
+}
@@ -0,0 +1,41 @@
+package com.imbilalbutt.springauthdev.Outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records a side effect in outbox_event inside the caller's transaction, so it commits or rolls back
+ * together with the change that caused it. {@link OutboxRelay} delivers it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_event (event_type, aggregate_id, payload) VALUES (?, ?, CAST(? AS jsonb))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType type, String aggregateId, Map<String, Object> payload) {
+        jdbcTemplate.update(INSERT_SQL, type.name(), aggregateId, objectMapper.writeValueAsString(payload));
+    }
+
+    // One JDBC batch for many events of one type, keyed by aggregate id
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(OutboxEventType type, Map<String, Map<String, Object>> payloads) {
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        payloads.forEach((aggregateId, payload) ->
+                rows.add(new Object[]{type.name(), aggregateId, objectMapper.writeValueAsString(payload)}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
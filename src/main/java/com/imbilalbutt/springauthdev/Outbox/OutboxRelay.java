@@ -0,0 +1,150 @@
+package com.imbilalbutt.springauthdev.Outbox;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers outbox events to the local {@link OutboxHandler}s. Each poll claims a batch with
+ * FOR UPDATE SKIP LOCKED and leases it by pushing available_at forward, so several nodes can drain
+ * the table without waiting on each other and an event held by a node that dies is picked up again
+ * once its lease runs out. Each event is then handled and deleted in its own transaction; failures
+ * are retried with exponential backoff and parked (failed_at set) after max-attempts.
+ */
+@Component
+@Slf4j
+public class OutboxRelay implements MeterBinder {
+
+    static final String CLAIM_SQL =
+            "UPDATE outbox_event SET available_at = now() + ? * INTERVAL '1 millisecond', attempts = attempts + 1 "
+                    + "WHERE id IN (SELECT id FROM outbox_event WHERE failed_at IS NULL AND available_at <= now() "
+                    + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING id, event_type, aggregate_id, payload, attempts";
+    static final String DELETE_SQL = "DELETE FROM outbox_event WHERE id = ?";
+    static final String RETRY_SQL =
+            "UPDATE outbox_event SET available_at = now() + ? * INTERVAL '1 millisecond', last_error = ? WHERE id = ?";
+    static final String PARK_SQL = "UPDATE outbox_event SET failed_at = now(), last_error = ? WHERE id = ?";
+
+    private static final long MAX_BACKOFF_MS = 300_000;
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<OutboxEventType, OutboxHandler> handlers = new EnumMap<>(OutboxEventType.class);
+    private final int batchSize;
+    private final long leaseMs;
+    private final int maxAttempts;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder parked = new LongAdder();
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       ObjectMapper objectMapper,
+                       List<OutboxHandler> handlers,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.lease-ms:60000}") long leaseMs,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        for (OutboxHandler handler : handlers) {
+            OutboxHandler previous = this.handlers.put(handler.type(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Two outbox handlers for " + handler.type());
+            }
+        }
+        this.batchSize = batchSize;
+        this.leaseMs = leaseMs;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // Keeps draining while batches come back full, so a backlog is not limited to one batch per interval
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            int claimed;
+            do {
+                claimed = relayBatch();
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay poll failed", e);
+        }
+    }
+
+    int relayBatch() {
+        List<OutboxEvent> events = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxEvent(
+                rs.getLong("id"),
+                OutboxEventType.valueOf(rs.getString("event_type")),
+                rs.getString("aggregate_id"),
+                objectMapper.readValue(rs.getString("payload"), PAYLOAD_TYPE),
+                rs.getInt("attempts")), leaseMs, batchSize);
+        for (OutboxEvent event : events) {
+            deliver(event);
+        }
+        return events.size();
+    }
+
+    private void deliver(OutboxEvent event) {
+        OutboxHandler handler = handlers.get(event.getType());
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("No outbox handler for " + event.getType());
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                handler.handle(event);
+                jdbcTemplate.update(DELETE_SQL, event.getId());
+            });
+            delivered.increment();
+        } catch (Exception e) {
+            String error = truncate(e.toString());
+            if (event.getAttempts() >= maxAttempts) {
+                jdbcTemplate.update(PARK_SQL, error, event.getId());
+                parked.increment();
+                log.error("Outbox event {} ({}) parked after {} attempts", event.getId(), event.getType(), event.getAttempts(), e);
+            } else {
+                jdbcTemplate.update(RETRY_SQL, backoffMs(event.getAttempts()), error, event.getId());
+                retried.increment();
+                log.warn("Outbox event {} ({}) failed on attempt {}; retrying", event.getId(), event.getType(), event.getAttempts(), e);
+            }
+        }
+    }
+
+    // 1s, 2s, 4s ... capped at five minutes
+    static long backoffMs(int attempts) {
+        return Math.min(MAX_BACKOFF_MS, 1000L << Math.min(attempts - 1, 20));
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("outbox.relay.delivered", delivered, LongAdder::sum)
+                .description("Outbox events handled and removed")
+                .register(registry);
+        FunctionCounter.builder("outbox.relay.retried", retried, LongAdder::sum)
+                .description("Outbox deliveries that failed and were rescheduled")
+                .register(registry);
+        FunctionCounter.builder("outbox.relay.parked", parked, LongAdder::sum)
+                .description("Outbox events given up on after max-attempts")
+                .register(registry);
+    }
+}
@@ -74,6 +74,7 @@ package com.imbilalbutt.springauthdev.Security;
 import com.imbilalbutt.springauthdev.Config.JwtAuthenticationFilter;
 import com.imbilalbutt.springauthdev.Config.RateLimitFilter;
 import com.imbilalbutt.springauthdev.Session.Redis.SessionAuthenticationFilter;
+import com.imbilalbutt.springauthdev.commons.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -104,15 +105,17 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // PUBLIC ENDPOINTS
                         .requestMatchers("/api/v1/auth/**").permitAll()
+                        // session endpoints check the session token themselves
+                        .requestMatchers("/api/v2/session/**", "/api/v2/reactive/session/**").permitAll()
                         .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
 
+                        // ADMIN ENDPOINTS (must precede the generic /api/v1/** rule; authorities carry no ROLE_ prefix)
+                        .requestMatchers("/admin/**").hasAuthority(Role.ADMIN.name())
+                        .requestMatchers("/api/v1/admin/**").hasAuthority(Role.ADMIN.name())
+
                         // API ENDPOINTS (JWT protected)
                         .requestMatchers("/api/v1/**").authenticated()
 
-                        // ADMIN ENDPOINTS
-                        .requestMatchers("/admin/**").hasRole("ADMIN")
-                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
-
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(sess -> sess
@@ -139,7 +142,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/ui/auth/**").permitAll()
                         .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
-                        .requestMatchers("/ui/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/ui/admin/**").hasAuthority(Role.ADMIN.name())
                         .anyRequest().authenticated()
                 )
                 .formLogin(form -> form
@@ -0,0 +1,111 @@
+package com.imbilalbutt.springauthdev.Session.Reactive;
+
+import com.imbilalbutt.springauthdev.AuthService.SessionInfo;
+import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
+import com.imbilalbutt.springauthdev.Session.Redis.SessionCodec;
+import com.imbilalbutt.springauthdev.Session.Redis.SessionCreationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.imbilalbutt.springauthdev.Session.Redis.SessionRegistry.SESSION_KEY_PREFIX;
+import static com.imbilalbutt.springauthdev.Session.Redis.SessionRegistry.SESSION_TIMEOUT_HOURS;
+import static com.imbilalbutt.springauthdev.Session.Redis.SessionRegistry.generateSessionId;
+
+/**
+ * Non-blocking counterpart of {@link com.imbilalbutt.springauthdev.Session.Redis.SessionRegistry} over
+ * the reactive Lettuce API. It reads and writes the same keys and value format, so a session created
+ * through either registry is valid in the other.
+ */
+@Component
+@Slf4j
+public class ReactiveSessionRegistry {
+
+    private static final Duration SESSION_TIMEOUT = Duration.ofHours(SESSION_TIMEOUT_HOURS);
+
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final SecurityAuditLogger auditLogger;
+
+    public ReactiveSessionRegistry(
+            @Qualifier("reactiveSessionRedisTemplate") ReactiveRedisTemplate<String, byte[]> redisTemplate,
+            SecurityAuditLogger auditLogger) {
+        this.redisTemplate = redisTemplate;
+        this.auditLogger = auditLogger;
+    }
+
+    public Mono<String> registerSession(final String username) {
+        if (username == null || username.trim().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Username cannot be null or empty"));
+        }
+
+        final String sessionId = generateSessionId();
+        return redisTemplate.opsForValue()
+                .set(SESSION_KEY_PREFIX + sessionId, SessionCodec.encode(username, LocalDateTime.now()), SESSION_TIMEOUT)
+                .onErrorMap(e -> {
+                    log.error("Failed to create session in Redis for user: {}", username, e);
+                    return new SessionCreationException("Failed to create session. Please try again.", e);
+                })
+                .flatMap(stored -> {
+                    if (!Boolean.TRUE.equals(stored)) {
+                        return Mono.error(new SessionCreationException("Failed to create session. Please try again."));
+                    }
+                    log.info("Session created for user: {} with ID: {}", username, sessionId);
+                    auditLogger.logSessionCreated(username, sessionId);
+                    return Mono.just(sessionId);
+                });
+    }
+
+    // Empty for unknown sessions and on Redis errors, as the blocking registry returns null
+    public Mono<SessionInfo> getSessionInfo(final String sessionId) {
+        if (sessionId == null || sessionId.trim().isEmpty()) {
+            return Mono.empty();
+        }
+
+        return redisTemplate.opsForValue().get(SESSION_KEY_PREFIX + sessionId)
+                .mapNotNull(SessionCodec::decode)
+                .onErrorResume(e -> {
+                    log.error("Failed to retrieve session: {}", sessionId, e);
+                    return Mono.empty();
+                });
+    }
+
+    // GETDEL reads the owner for the audit log and removes the key in one round trip
+    public Mono<Void> invalidateSession(final String sessionId) {
+        if (sessionId == null || sessionId.trim().isEmpty()) {
+            return Mono.empty();
+        }
+
+        return redisTemplate.opsForValue().getAndDelete(SESSION_KEY_PREFIX + sessionId)
+                .doOnNext(value -> {
+                    log.info("Session invalidated: {}", sessionId);
+                    String username = SessionCodec.decodeUsername(value);
+                    if (username != null) {
+                        auditLogger.logSessionInvalidated(username, sessionId);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.error("Failed to invalidate session: {}", sessionId, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // EXPIRE is a no-op on missing keys, so no separate EXISTS is needed
+    public Mono<Void> refreshSession(final String sessionId) {
+        if (sessionId == null || sessionId.trim().isEmpty()) {
+            return Mono.empty();
+        }
+
+        return redisTemplate.expire(SESSION_KEY_PREFIX + sessionId, SESSION_TIMEOUT)
+                .onErrorResume(e -> {
+                    log.error("Failed to refresh session: {}", sessionId, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -5,8 +5,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -40,4 +45,46 @@ public class RedisConfiguration {
         redisTemplate.afterPropertiesSet();
         return redisTemplate;
     }
+
+    // Raw bytes for session and rate-limit values; callers own the encoding (see SessionCodec)
+    @Bean
+    public RedisTemplate<String, byte[]> sessionRedisTemplate() {
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redisConnectionFactory());
+
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.setHashKeySerializer(RedisSerializer.string());
+        redisTemplate.setHashValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.setEnableDefaultSerializer(false);
+
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+
+    // Non-blocking view of the session keyspace for ReactiveSessionRegistry; shares the Lettuce connection
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> reactiveSessionRedisTemplate() {
+        RedisSerializationContext<String, byte[]> context = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .hashKey(RedisSerializer.string())
+                .hashValue(RedisSerializer.byteArray())
+                .build();
+        return new ReactiveRedisTemplate<>(redisConnectionFactory(), context);
+    }
+
+    // Human-readable keys and values: refresh tokens, revocations, admin and debugging tools
+    @Bean
+    public StringRedisTemplate stringRedisTemplate() {
+        return new StringRedisTemplate(redisConnectionFactory());
+    }
+
+    // Pub/sub subscriptions, e.g. token revocations broadcast between nodes
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
 }
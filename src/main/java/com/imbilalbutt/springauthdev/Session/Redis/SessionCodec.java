@@ -0,0 +1,90 @@
+package com.imbilalbutt.springauthdev.Session.Redis;
+
+import com.imbilalbutt.springauthdev.AuthService.SessionInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary layout for session values stored in Redis:
+ * {@code [version:1][createdAt epoch seconds:varint][username:UTF-8]}.
+ * Values written before the codec existed (plain UTF-8 usernames) are still readable.
+ */
+public final class SessionCodec {
+
+    static final byte FORMAT_VERSION = 1;
+
+    private SessionCodec() {
+    }
+
+    public static byte[] encode(String username, LocalDateTime createdAt) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        long epochSeconds = createdAt.toEpochSecond(ZoneOffset.UTC);
+
+        byte[] out = new byte[1 + varintSize(epochSeconds) + name.length];
+        out[0] = FORMAT_VERSION;
+        int pos = writeVarint(out, 1, epochSeconds);
+        System.arraycopy(name, 0, out, pos, name.length);
+        return out;
+    }
+
+    public static SessionInfo decode(byte[] value) {
+        if (value == null || value.length == 0) {
+            return null;
+        }
+        if (value[0] != FORMAT_VERSION) {
+            return SessionInfo.builder()
+                    .username(new String(value, StandardCharsets.UTF_8))
+                    .build();
+        }
+
+        long epochSeconds = 0;
+        int shift = 0;
+        int pos = 1;
+        byte b;
+        do {
+            b = value[pos++];
+            epochSeconds |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return SessionInfo.builder()
+                .username(new String(value, pos, value.length - pos, StandardCharsets.UTF_8))
+                .createdAt(LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC))
+                .build();
+    }
+
+    // Hot path for the session filters: skips the timestamp without materialising it
+    public static String decodeUsername(byte[] value) {
+        if (value == null || value.length == 0) {
+            return null;
+        }
+        if (value[0] != FORMAT_VERSION) {
+            return new String(value, StandardCharsets.UTF_8);
+        }
+        int pos = 1;
+        while ((value[pos++] & 0x80) != 0) {
+            // skip varint continuation bytes
+        }
+        return new String(value, pos, value.length - pos, StandardCharsets.UTF_8);
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarint(byte[] out, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+}
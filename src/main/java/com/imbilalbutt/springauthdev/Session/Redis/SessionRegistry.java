@@ -1,38 +1,33 @@
 package com.imbilalbutt.springauthdev.Session.Redis;
 
+import com.imbilalbutt.springauthdev.AuthService.SessionInfo;
 import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class SessionRegistry {
 
-    private final ValueOperations<String, String> redisSessionStorage;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisTemplate<String, byte[]> redisTemplate;
     private final SecurityAuditLogger auditLogger;
 
-    private static final long SESSION_TIMEOUT_HOURS = 24;
-    private static final String SESSION_KEY_PREFIX = "session:";
+    // Shared with ReactiveSessionRegistry, which reads and writes the same keys
+    public static final long SESSION_TIMEOUT_HOURS = 24;
+    public static final String SESSION_KEY_PREFIX = "session:";
 
-    /** Default constructor for testing */
-    public SessionRegistry() {
-        this.redisSessionStorage = null;
-        this.redisTemplate = null;
-        this.auditLogger = null;
-    }
-
-    public SessionRegistry(RedisTemplate<String, String> redisTemplate, SecurityAuditLogger auditLogger) {
-        redisSessionStorage = redisTemplate.opsForValue();
+    public SessionRegistry(@Qualifier("sessionRedisTemplate") RedisTemplate<String, byte[]> redisTemplate,
+                           SecurityAuditLogger auditLogger) {
         this.redisTemplate = redisTemplate;
         this.auditLogger = auditLogger;
     }
@@ -48,7 +43,7 @@ public class SessionRegistry {
         try {
             redisTemplate.opsForValue().set(
                 sessionKey,
-                username,
+                SessionCodec.encode(username, LocalDateTime.now()),
                 SESSION_TIMEOUT_HOURS,
                 TimeUnit.HOURS
             );
@@ -69,14 +64,49 @@ public class SessionRegistry {
 
         final String sessionKey = SESSION_KEY_PREFIX + sessionId;
         try {
-            return redisTemplate.opsForValue().get(sessionKey);
+            return SessionCodec.decodeUsername(redisTemplate.opsForValue().get(sessionKey));
+        } catch (final Exception e) {
+            log.error("Failed to retrieve session: {}", sessionId, e);
+            return null;
+        }
+    }
+
+    public SessionInfo getSessionInfo(final String sessionId) {
+        if (sessionId == null || sessionId.trim().isEmpty()) {
+            return null;
+        }
+
+        final String sessionKey = SESSION_KEY_PREFIX + sessionId;
+        try {
+            return SessionCodec.decode(redisTemplate.opsForValue().get(sessionKey));
         } catch (final Exception e) {
             log.error("Failed to retrieve session: {}", sessionId, e);
             return null;
         }
     }
 
-    private String generateSessionId() {
+    // One MGET for many sessions; the result lines up with the input and holds null for unknown sessions
+    public List<String> getUsernamesForSessions(final List<String> sessionIds) {
+        final List<String> sessionKeys = new ArrayList<>(sessionIds.size());
+        for (String sessionId : sessionIds) {
+            sessionKeys.add(SESSION_KEY_PREFIX + sessionId);
+        }
+
+        final List<String> usernames = new ArrayList<>(sessionIds.size());
+        try {
+            List<byte[]> values = redisTemplate.opsForValue().multiGet(sessionKeys);
+            for (int i = 0; i < sessionIds.size(); i++) {
+                usernames.add(values != null ? SessionCodec.decodeUsername(values.get(i)) : null);
+            }
+        } catch (final Exception e) {
+            log.error("Failed to retrieve {} sessions", sessionIds.size(), e);
+            usernames.clear();
+            sessionIds.forEach(sessionId -> usernames.add(null));
+        }
+        return usernames;
+    }
+
+    public static String generateSessionId() {
         return Base64.getUrlEncoder()
             .withoutPadding()
             .encodeToString(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
@@ -90,7 +120,7 @@ public class SessionRegistry {
         final String sessionKey = SESSION_KEY_PREFIX + sessionId;
         try {
             // Get username before deleting for audit log
-            String username = redisTemplate.opsForValue().get(sessionKey);
+            String username = SessionCodec.decodeUsername(redisTemplate.opsForValue().get(sessionKey));
             
             Boolean deleted = redisTemplate.delete(sessionKey);
             if (Boolean.TRUE.equals(deleted)) {
@@ -0,0 +1,164 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Mints HS256 tokens without the jjwt builder: the header is encoded once per key, initialised MACs are
+ * pooled, and claims are written by hand. The output is an ordinary compact JWS that the jjwt
+ * parser verifies like any other. Only string, number and boolean claims are supported; see
+ * {@link #supports(Map)}.
+ */
+public class HmacTokenMinter {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Set<String> REGISTERED_CLAIMS = Set.of("sub", "jti", "iat", "exp");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Per-thread caching would never hit with a virtual thread per request; a pool shared by all threads does
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final String kid;
+    private final Key key;
+    private final byte[] encodedHeader;
+    private final Mac prototype;
+    private final BlockingQueue<Mac> macs = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    public HmacTokenMinter(String kid, Key key) {
+        this.kid = kid;
+        this.key = key;
+        StringBuilder header = new StringBuilder("{\"alg\":\"HS256\"");
+        if (kid != null) {
+            header.append(",\"kid\":");
+            writeString(header, kid);
+        }
+        header.append('}');
+        this.encodedHeader = (BASE64_URL.encodeToString(header.toString().getBytes(StandardCharsets.UTF_8)) + ".")
+                .getBytes(StandardCharsets.US_ASCII);
+        // initialised here, so a bad key fails at construction rather than on the first login
+        this.prototype = newMac();
+    }
+
+    public String getKid() {
+        return kid;
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            // the same key bytes jjwt signs with, whatever HmacSHA* size Keys.hmacShaKeyFor labelled them
+            mac.init(new SecretKeySpec(key.getEncoded(), "HmacSHA256"));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available for key " + kid, e);
+        }
+    }
+
+    // Cloning copies the already-keyed state, skipping the provider lookup and key schedule
+    private Mac borrowMac() {
+        Mac mac = macs.poll();
+        if (mac != null) {
+            return mac;
+        }
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return newMac();
+        }
+    }
+
+    // Registered claim names are left to the builder, which decides how they combine with its own
+    public static boolean supports(Map<String, Object> claims) {
+        for (Map.Entry<String, Object> claim : claims.entrySet()) {
+            Object value = claim.getValue();
+            if (REGISTERED_CLAIMS.contains(claim.getKey())
+                    || !(value instanceof String || value instanceof Number || value instanceof Boolean)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // issuedAtSeconds < 0 leaves iat out
+    public String mint(Map<String, Object> extraClaims, String subject, String tokenId,
+                       long issuedAtSeconds, long expiresAtSeconds) {
+        StringBuilder json = new StringBuilder(128 + subject.length());
+        json.append('{');
+        for (Map.Entry<String, Object> claim : extraClaims.entrySet()) {
+            writeString(json, claim.getKey());
+            json.append(':');
+            writeValue(json, claim.getValue());
+            json.append(',');
+        }
+        json.append("\"sub\":");
+        writeString(json, subject);
+        json.append(",\"jti\":");
+        writeString(json, tokenId);
+        if (issuedAtSeconds >= 0) {
+            json.append(",\"iat\":").append(issuedAtSeconds);
+        }
+        json.append(",\"exp\":").append(expiresAtSeconds).append('}');
+
+        byte[] payload = BASE64_URL.encode(json.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] signingInput = new byte[encodedHeader.length + payload.length];
+        System.arraycopy(encodedHeader, 0, signingInput, 0, encodedHeader.length);
+        System.arraycopy(payload, 0, signingInput, encodedHeader.length, payload.length);
+
+        // doFinal resets the MAC, so it goes straight back to the pool; a full pool just drops it
+        Mac mac = borrowMac();
+        byte[] signature = BASE64_URL.encode(mac.doFinal(signingInput));
+        macs.offer(mac);
+        byte[] token = new byte[signingInput.length + 1 + signature.length];
+        System.arraycopy(signingInput, 0, token, 0, signingInput.length);
+        token[signingInput.length] = '.';
+        System.arraycopy(signature, 0, token, signingInput.length + 1, signature.length);
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    private static void writeValue(StringBuilder json, Object value) {
+        if (value instanceof String string) {
+            writeString(json, string);
+        } else if (value instanceof Double d && !Double.isFinite(d) || value instanceof Float f && !Float.isFinite(f)) {
+            throw new IllegalArgumentException("Claims cannot hold non-finite numbers");
+        } else {
+            json.append(value);
+        }
+    }
+
+    // RFC 8259 escaping; everything above U+001F other than quote and backslash goes through as UTF-8
+    static void writeString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                case '\b' -> json.append("\\b");
+                case '\f' -> json.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
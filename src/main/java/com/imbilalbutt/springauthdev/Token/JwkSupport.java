@@ -0,0 +1,129 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PEM loading and RFC 7517/7638 JWK encoding for RSA and P-256 keys, without a JOSE library.
+ */
+final class JwkSupport {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private JwkSupport() {
+    }
+
+    static PrivateKey parsePrivateKey(String pem, String keyAlgorithm) throws Exception {
+        return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(pemBody(pem)));
+    }
+
+    // Public keys may be RSA or EC regardless of the current signing algorithm
+    static PublicKey parsePublicKey(String pem) throws Exception {
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(pemBody(pem));
+        try {
+            return KeyFactory.getInstance("RSA").generatePublic(spec);
+        } catch (Exception notRsa) {
+            return KeyFactory.getInstance("EC").generatePublic(spec);
+        }
+    }
+
+    private static byte[] pemBody(String pem) {
+        String body = pem.replaceAll("-----(BEGIN|END)[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    static SignatureAlgorithm algorithmFor(PublicKey key) {
+        if (key instanceof RSAPublicKey) {
+            return SignatureAlgorithm.RS256;
+        }
+        if (key instanceof ECPublicKey ec && ec.getParams().getCurve().getField().getFieldSize() == 256) {
+            return SignatureAlgorithm.ES256;
+        }
+        throw new IllegalArgumentException("Only RSA and P-256 EC public keys are supported");
+    }
+
+    // Public members only, in the order RFC 7638 uses for thumbprints
+    static Map<String, Object> publicJwk(PublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (key instanceof RSAPublicKey rsa) {
+            jwk.put("e", encode(unsigned(rsa.getPublicExponent(), 0)));
+            jwk.put("kty", "RSA");
+            jwk.put("n", encode(unsigned(rsa.getModulus(), 0)));
+        } else if (key instanceof ECPublicKey ec) {
+            jwk.put("crv", "P-256");
+            jwk.put("kty", "EC");
+            jwk.put("x", encode(unsigned(ec.getW().getAffineX(), 32)));
+            jwk.put("y", encode(unsigned(ec.getW().getAffineY(), 32)));
+        } else {
+            throw new IllegalArgumentException("Unsupported public key type: " + key.getAlgorithm());
+        }
+        return jwk;
+    }
+
+    static String thumbprint(Map<String, Object> publicJwk) {
+        return encode(sha256(toJson(publicJwk).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static Map<String, Object> describedJwk(Map<String, Object> publicJwk, String kid, SignatureAlgorithm algorithm) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", publicJwk.get("kty"));
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        jwk.put("kid", kid);
+        publicJwk.forEach(jwk::putIfAbsent);
+        return jwk;
+    }
+
+    // Values are base64url strings and fixed identifiers, so no escaping is needed
+    static String toJson(Map<String, Object> members) {
+        StringBuilder json = new StringBuilder("{");
+        members.forEach((name, value) -> {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(name).append("\":\"").append(value).append('"');
+        });
+        return json.append('}').toString();
+    }
+
+    static String encode(byte[] bytes) {
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Big-endian magnitude without the sign byte, left-padded to a fixed length when one is given
+    private static byte[] unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            return padded;
+        }
+        return bytes;
+    }
+}
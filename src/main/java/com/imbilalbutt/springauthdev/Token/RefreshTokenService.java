@@ -0,0 +1,221 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure;
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure.Reason;
+import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Opaque, rotating refresh tokens of the form {@code <familyId>.<secret>}. Redis holds only a SHA-256 of
+ * each token, plus one pointer per family to the token that is currently valid. Presenting an older
+ * token from the same family means a copy leaked, so the whole family is revoked.
+ * Each token expires after refresh-expiration of disuse, but a family never outlives refresh-max-lifetime
+ * from sign-in, however often it is rotated. A per-user set of family ids lets every family of an account
+ * be revoked at once, e.g. when it is locked.
+ * Issuing costs two round trips (family, then the per-user index); rotating and revoking one.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final String KEY_PREFIX = "refresh:";
+    private static final String USER_KEY_PREFIX = KEY_PREFIX + "user:";
+    private static final int FAMILY_ID_BYTES = 12;
+    private static final int SECRET_BYTES = 32;
+    private static final int FAMILY_ID_LENGTH = 16;
+    private static final int SECRET_LENGTH = 43;
+
+    // The family key's TTL is the family's absolute lifetime; rotation keeps it
+    private static final RedisScript<Long> ISSUE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[4])
+            return 1
+            """, Long.class);
+
+    // Separate script: the per-user index lives in a different cluster slot from the family
+    private static final RedisScript<Long> INDEX_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SADD', KEYS[1], ARGV[1])
+            if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[2]) then
+              redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 1
+            """, Long.class);
+
+    // KEYS: presented token, family, next token; ARGV: presented hash, next hash, idle ttl
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            local username = redis.call('GET', KEYS[1])
+            if not username then
+              return {'INVALID'}
+            end
+            local current = redis.call('GET', KEYS[2])
+            if current ~= ARGV[1] then
+              redis.call('DEL', KEYS[2])
+              if current then
+                return {'REUSED', username}
+              end
+              return {'REVOKED', username}
+            end
+            local ttl = tonumber(ARGV[3])
+            local remaining = redis.call('PTTL', KEYS[2])
+            if remaining > 0 and remaining < ttl then
+              ttl = remaining
+            end
+            redis.call('SET', KEYS[3], username, 'PX', ttl)
+            redis.call('SET', KEYS[2], ARGV[2], 'KEEPTTL')
+            return {'OK', username}
+            """, List.class);
+
+    private static final RedisScript<String> REVOKE_SCRIPT = new DefaultRedisScript<>("""
+            local username = redis.call('GET', KEYS[1])
+            if username then
+              redis.call('DEL', KEYS[2])
+            end
+            return username
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SecurityAuditLogger auditLogger;
+    private final long refreshExpiration;
+    private final long maxLifetime;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(StringRedisTemplate redisTemplate,
+                               SecurityAuditLogger auditLogger,
+                               @Value("${application.security.jwt.refresh-expiration:1209600000}") long refreshExpiration,
+                               @Value("${application.security.jwt.refresh-max-lifetime:2592000000}") long maxLifetime) {
+        this.redisTemplate = redisTemplate;
+        this.auditLogger = auditLogger;
+        this.refreshExpiration = refreshExpiration;
+        this.maxLifetime = Math.max(maxLifetime, refreshExpiration);
+    }
+
+    // Starts a new token family, e.g. on sign-in
+    public String issue(String username) {
+        String familyId = randomToken(FAMILY_ID_BYTES);
+        String token = familyId + "." + randomToken(SECRET_BYTES);
+        String tokenHash = hash(token);
+        redisTemplate.execute(ISSUE_SCRIPT, List.of(tokenKey(familyId, tokenHash), familyKey(familyId)),
+                username, tokenHash, String.valueOf(refreshExpiration), String.valueOf(maxLifetime));
+        redisTemplate.execute(INDEX_SCRIPT, List.of(userKey(username)), familyId, String.valueOf(maxLifetime));
+        return token;
+    }
+
+    public RotatedToken rotate(String presented) {
+        String familyId = familyId(presented);
+        if (familyId == null) {
+            throw new AuthFailure(Reason.INVALID_REFRESH_TOKEN);
+        }
+        String presentedHash = hash(presented);
+        String next = familyId + "." + randomToken(SECRET_BYTES);
+        String nextHash = hash(next);
+
+        List<?> result = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(tokenKey(familyId, presentedHash), familyKey(familyId), tokenKey(familyId, nextHash)),
+                presentedHash, nextHash, String.valueOf(refreshExpiration));
+
+        String status = result == null || result.isEmpty() ? "INVALID" : String.valueOf(result.get(0));
+        String username = result != null && result.size() > 1 ? String.valueOf(result.get(1)) : null;
+        switch (status) {
+            case "OK":
+                return new RotatedToken(username, next);
+            case "REUSED":
+                log.warn("Refresh token reuse detected for {}; token family revoked", username);
+                auditLogger.logSuspiciousActivity("Refresh token reuse; token family revoked", username);
+                throw new AuthFailure(Reason.INVALID_REFRESH_TOKEN);
+            default:
+                throw new AuthFailure(Reason.INVALID_REFRESH_TOKEN);
+        }
+    }
+
+    // Ends the family the token belongs to; returns the owner, or null if the token was unknown
+    public String revoke(String presented) {
+        String familyId = familyId(presented);
+        if (familyId == null) {
+            return null;
+        }
+        return redisTemplate.execute(REVOKE_SCRIPT,
+                List.of(tokenKey(familyId, hash(presented)), familyKey(familyId)));
+    }
+
+    // Ends every family of the user, e.g. when the account is locked or disabled; returns how many were live
+    public long revokeAll(String username) {
+        String userKey = userKey(username);
+        Set<String> familyIds = redisTemplate.opsForSet().members(userKey);
+        if (familyIds == null || familyIds.isEmpty()) {
+            return 0;
+        }
+        List<String> familyKeys = familyIds.stream().map(RefreshTokenService::familyKey).toList();
+        Long revoked = redisTemplate.delete(familyKeys);
+        redisTemplate.opsForSet().remove(userKey, familyIds.toArray());
+        return revoked == null ? 0 : revoked;
+    }
+
+    // The hash tag keeps a family's keys in one cluster slot, as the scripts require
+    static String tokenKey(String familyId, String tokenHash) {
+        return KEY_PREFIX + "{" + familyId + "}:" + tokenHash;
+    }
+
+    static String familyKey(String familyId) {
+        return KEY_PREFIX + "{" + familyId + "}:family";
+    }
+
+    static String userKey(String username) {
+        return USER_KEY_PREFIX + username.toLowerCase(Locale.ROOT);
+    }
+
+    // Rejects malformed tokens before they cost a Redis round trip
+    static String familyId(String token) {
+        if (token == null || token.length() != FAMILY_ID_LENGTH + 1 + SECRET_LENGTH
+                || token.charAt(FAMILY_ID_LENGTH) != '.') {
+            return null;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            boolean base64Url = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_';
+            if (!base64Url && i != FAMILY_ID_LENGTH) {
+                return null;
+            }
+        }
+        return token.substring(0, FAMILY_ID_LENGTH);
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String randomToken(int bytes) {
+        byte[] random = new byte[bytes];
+        secureRandom.nextBytes(random);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RotatedToken {
+        private final String username;
+        private final String refreshToken;
+    }
+}
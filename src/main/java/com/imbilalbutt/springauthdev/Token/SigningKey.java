@@ -0,0 +1,27 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Key;
+import java.util.Map;
+
+/**
+ * One JWT key identified by {@code kid}. Verification-only keys (rotated out, or published ahead of
+ * use) have no signing key. HMAC keys have no JWK, because they must never be published.
+ */
+@Getter
+@AllArgsConstructor
+public class SigningKey {
+
+    private final String kid;
+    private final SignatureAlgorithm algorithm;
+    private final Key signingKey;
+    private final Key verificationKey;
+    private final Map<String, Object> jwk;
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+}
@@ -0,0 +1,361 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * JWT keys by {@code kid}: one active key signs, and every known key verifies. For RS256/ES256 the public
+ * halves are published as a JWKS so other services verify tokens offline. To rotate, publish the new
+ * public key under verification-keys first, switch private-key once caches have picked it up, then keep
+ * the old public key listed until the last token it signed has expired.
+ * <p>
+ * HMAC keys rotate the same way through previous-secret-keys, or through the key file, which names
+ * keys explicitly ({@code hmac.<kid>=<base64 secret>}, {@code active=<kid>}). Key files are re-read when
+ * they change; a key that disappears keeps verifying for one access-token lifetime, so no one is
+ * signed out by a rotation.
+ * <p>
+ * Tokens without a kid are verified with the shared secret while accept-legacy-hs256 is on. Turn it off
+ * once the last such token has expired, so an RS256/ES256 deployment no longer accepts anything HMAC-signed
+ * with a secret other services may hold.
+ */
+@Component
+@Slf4j
+public class SigningKeyRegistry extends SigningKeyResolverAdapter {
+
+    private static final List<SignatureAlgorithm> SUPPORTED =
+            List.of(SignatureAlgorithm.HS256, SignatureAlgorithm.RS256, SignatureAlgorithm.ES256);
+    private static final String HMAC_PREFIX = "hmac.";
+
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final String privateKeyPath;
+    private final String publicKeyPath;
+    private final String[] verificationKeyPaths;
+    private final String keyFilePath;
+    private final long retiredKeyLifetimeMillis;
+    // Tokens issued before kid headers existed were signed with the shared secret
+    private final SigningKey legacyKey;
+    private final boolean acceptLegacyHs256;
+    private final List<SigningKey> previousKeys = new ArrayList<>();
+    private final SigningKey ephemeralKey;
+    // Verifies through this resolver, so it stays valid across reloads
+    private final JwtParser parser;
+    private final Map<String, Instant> retiredAt = new HashMap<>();
+
+    private volatile KeySet keySet;
+    private String watchedFingerprint;
+
+    public SigningKeyRegistry(@Value("${application.security.jwt.algorithm:HS256}") String algorithm,
+                              @Value("${application.security.jwt.secret-key}") String secretKey,
+                              @Value("${application.security.jwt.private-key:}") String privateKeyPath,
+                              @Value("${application.security.jwt.public-key:}") String publicKeyPath,
+                              @Value("${application.security.jwt.verification-keys:}") String[] verificationKeyPaths,
+                              @Value("${application.security.jwt.previous-secret-keys:}") String[] previousSecretKeys,
+                              @Value("${application.security.jwt.key-file:}") String keyFilePath,
+                              @Value("${application.security.jwt.expiration:900000}") long accessTokenLifetimeMillis,
+                              @Value("${application.security.jwt.accept-legacy-hs256:true}") boolean acceptLegacyHs256) throws Exception {
+        signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+        if (!SUPPORTED.contains(signatureAlgorithm)) {
+            throw new IllegalArgumentException("application.security.jwt.algorithm must be one of " + SUPPORTED);
+        }
+        this.privateKeyPath = privateKeyPath;
+        this.publicKeyPath = publicKeyPath;
+        this.verificationKeyPaths = verificationKeyPaths;
+        this.keyFilePath = keyFilePath;
+        this.retiredKeyLifetimeMillis = accessTokenLifetimeMillis;
+        this.acceptLegacyHs256 = acceptLegacyHs256;
+
+        legacyKey = hmacKey(null, secretKey);
+        for (String previous : previousSecretKeys) {
+            if (!previous.isBlank()) {
+                previousKeys.add(verificationOnly(hmacKey(null, previous.trim())));
+            }
+        }
+        ephemeralKey = signatureAlgorithm != SignatureAlgorithm.HS256 && privateKeyPath.isBlank()
+                ? ephemeralKey(signatureAlgorithm) : null;
+
+        watchedFingerprint = fingerprint();
+        keySet = load(Instant.now());
+        parser = Jwts.parserBuilder().setSigningKeyResolver(this).build();
+        log.info("JWT signing with {} key {}; {} verification keys",
+                keySet.activeKey.getAlgorithm(), keySet.activeKey.getKid(), keySet.keysById.size());
+    }
+
+    // Key files are polled rather than watched, which also works for Kubernetes secret volumes
+    @Scheduled(fixedDelayString = "${application.security.jwt.key-reload-interval-ms:30000}",
+            initialDelayString = "${application.security.jwt.key-reload-interval-ms:30000}")
+    public synchronized void reload() {
+        Instant now = Instant.now();
+        String fingerprint = fingerprint();
+        if (fingerprint.equals(watchedFingerprint) && !hasExpiredRetiredKeys(now)) {
+            return;
+        }
+        try {
+            KeySet previous = keySet;
+            keySet = load(now);
+            watchedFingerprint = fingerprint;
+            if (!previous.activeKey.getKid().equals(keySet.activeKey.getKid())) {
+                log.info("JWT signing key rotated from {} to {}", previous.activeKey.getKid(), keySet.activeKey.getKid());
+            }
+        } catch (Exception e) {
+            // a half-written or broken file must not take signing down; retry on the next change
+            watchedFingerprint = fingerprint;
+            log.error("Could not reload JWT keys; keeping the current key set", e);
+        }
+    }
+
+    private KeySet load(Instant now) throws Exception {
+        Map<String, SigningKey> keysById = new LinkedHashMap<>();
+        SigningKey activeKey = signatureAlgorithm == SignatureAlgorithm.HS256 ? legacyKey : asymmetricKey();
+
+        if (!keyFilePath.isBlank()) {
+            Properties entries = new Properties();
+            entries.load(new StringReader(Files.readString(Path.of(keyFilePath))));
+            String activeKid = entries.getProperty("active", "").trim();
+            for (String name : entries.stringPropertyNames()) {
+                if (name.startsWith(HMAC_PREFIX)) {
+                    String kid = name.substring(HMAC_PREFIX.length());
+                    SigningKey key = hmacKey(kid, entries.getProperty(name).trim());
+                    keysById.put(kid, kid.equals(activeKid) ? key : verificationOnly(key));
+                }
+            }
+            if (!activeKid.isEmpty()) {
+                SigningKey named = keysById.get(activeKid);
+                if (named == null) {
+                    throw new IllegalArgumentException("Active key " + activeKid + " is not defined in " + keyFilePath);
+                }
+                if (signatureAlgorithm == SignatureAlgorithm.HS256) {
+                    activeKey = named;
+                } else {
+                    log.warn("Ignoring active={} in {}: HMAC keys cannot sign when the algorithm is {}",
+                            activeKid, keyFilePath, signatureAlgorithm);
+                }
+            }
+        }
+
+        keysById.put(activeKey.getKid(), activeKey);
+        if (acceptLegacyHs256) {
+            keysById.putIfAbsent(legacyKey.getKid(), legacyKey);
+        }
+        for (SigningKey previous : previousKeys) {
+            keysById.putIfAbsent(previous.getKid(), previous);
+        }
+        for (String path : verificationKeyPaths) {
+            if (!path.isBlank()) {
+                SigningKey key = publicKey(JwkSupport.parsePublicKey(Files.readString(Path.of(path.trim()))));
+                keysById.putIfAbsent(key.getKid(), key);
+            }
+        }
+        retainRetiredKeys(keysById, now);
+
+        List<String> published = new ArrayList<>();
+        for (SigningKey key : keysById.values()) {
+            if (key.getJwk() != null) {
+                published.add(JwkSupport.toJson(key.getJwk()));
+            }
+        }
+        byte[] jwks = ("{\"keys\":[" + String.join(",", published) + "]}").getBytes(StandardCharsets.UTF_8);
+        String jwksETag = "\"" + JwkSupport.encode(Arrays.copyOf(JwkSupport.sha256(jwks), 16)) + "\"";
+        return new KeySet(activeKey, Collections.unmodifiableMap(keysById), jwks, jwksETag);
+    }
+
+    // Keys dropped from configuration still verify the tokens they signed until those have expired
+    private void retainRetiredKeys(Map<String, SigningKey> keysById, Instant now) {
+        retiredAt.keySet().removeIf(keysById::containsKey);
+        KeySet previous = keySet;
+        if (previous == null) {
+            return;
+        }
+        for (SigningKey key : previous.keysById.values()) {
+            if (keysById.containsKey(key.getKid())) {
+                continue;
+            }
+            Instant retired = retiredAt.computeIfAbsent(key.getKid(), kid -> now);
+            if (retired.plusMillis(retiredKeyLifetimeMillis).isAfter(now)) {
+                keysById.put(key.getKid(), verificationOnly(key));
+            } else {
+                retiredAt.remove(key.getKid());
+            }
+        }
+    }
+
+    private boolean hasExpiredRetiredKeys(Instant now) {
+        for (Instant retired : retiredAt.values()) {
+            if (!retired.plusMillis(retiredKeyLifetimeMillis).isAfter(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Modification time and size of every configured key file; a change triggers a reload
+    private String fingerprint() {
+        StringBuilder fingerprint = new StringBuilder();
+        List<String> paths = new ArrayList<>(List.of(keyFilePath, privateKeyPath, publicKeyPath));
+        paths.addAll(Arrays.asList(verificationKeyPaths));
+        for (String path : paths) {
+            if (path.isBlank()) {
+                continue;
+            }
+            Path file = Path.of(path.trim());
+            try {
+                fingerprint.append(Files.getLastModifiedTime(file).toMillis()).append(':').append(Files.size(file));
+            } catch (IOException e) {
+                fingerprint.append("missing");
+            }
+            fingerprint.append(';');
+        }
+        return fingerprint.toString();
+    }
+
+    public SigningKey getActiveKey() {
+        return keySet.activeKey;
+    }
+
+    public JwtParser getParser() {
+        return parser;
+    }
+
+    public byte[] getJwks() {
+        return keySet.jwks;
+    }
+
+    public String getJwksETag() {
+        return keySet.jwksETag;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null && !acceptLegacyHs256) {
+            throw new SignatureException("Tokens without a signing key id are no longer accepted");
+        }
+        SigningKey key = kid == null ? legacyKey : keySet.keysById.get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key id: " + kid);
+        }
+        // never let the token pick a different algorithm for a known key
+        if (!key.getAlgorithm().getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("Algorithm " + header.getAlgorithm() + " does not match key " + kid);
+        }
+        return key.getVerificationKey();
+    }
+
+    // Without an explicit kid, a truncated digest identifies the secret without revealing it
+    private static SigningKey hmacKey(String kid, String secretKey) {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        Key key = Keys.hmacShaKeyFor(keyBytes);
+        if (kid == null) {
+            kid = "hs-" + JwkSupport.encode(Arrays.copyOf(JwkSupport.sha256(keyBytes), 12));
+        }
+        return new SigningKey(kid, SignatureAlgorithm.HS256, key, key, null);
+    }
+
+    private static SigningKey verificationOnly(SigningKey key) {
+        return key.canSign()
+                ? new SigningKey(key.getKid(), key.getAlgorithm(), null, key.getVerificationKey(), key.getJwk())
+                : key;
+    }
+
+    private SigningKey asymmetricKey() throws Exception {
+        if (ephemeralKey != null) {
+            return ephemeralKey;
+        }
+        String keyAlgorithm = signatureAlgorithm == SignatureAlgorithm.RS256 ? "RSA" : "EC";
+        PrivateKey privateKey = JwkSupport.parsePrivateKey(Files.readString(Path.of(privateKeyPath)), keyAlgorithm);
+        PublicKey publicKey = publicKeyPath.isBlank()
+                ? derivePublicKey(privateKey)
+                : JwkSupport.parsePublicKey(Files.readString(Path.of(publicKeyPath)));
+        return signingKey(signatureAlgorithm, privateKey, publicKey);
+    }
+
+    private static SigningKey ephemeralKey(SignatureAlgorithm algorithm) throws Exception {
+        log.warn("No application.security.jwt.private-key configured; generated an ephemeral {} key. "
+                + "Tokens will not survive a restart or verify on other nodes.", algorithm);
+        KeyPair pair = generate(algorithm == SignatureAlgorithm.RS256 ? "RSA" : "EC");
+        return signingKey(algorithm, pair.getPrivate(), pair.getPublic());
+    }
+
+    private static SigningKey signingKey(SignatureAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+        if (JwkSupport.algorithmFor(publicKey) != algorithm) {
+            throw new IllegalArgumentException("The configured key pair does not fit " + algorithm);
+        }
+        SigningKey verifying = publicKey(publicKey);
+        return new SigningKey(verifying.getKid(), algorithm, privateKey, publicKey, verifying.getJwk());
+    }
+
+    private static SigningKey publicKey(PublicKey publicKey) {
+        SignatureAlgorithm algorithm = JwkSupport.algorithmFor(publicKey);
+        Map<String, Object> jwk = JwkSupport.publicJwk(publicKey);
+        String kid = JwkSupport.thumbprint(jwk);
+        return new SigningKey(kid, algorithm, null, publicKey, JwkSupport.describedJwk(jwk, kid, algorithm));
+    }
+
+    private static KeyPair generate(String keyAlgorithm) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm);
+        if ("RSA".equals(keyAlgorithm)) {
+            generator.initialize(2048);
+        } else {
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        }
+        return generator.generateKeyPair();
+    }
+
+    // RSA private keys in PKCS#8 carry the public exponent; EC keys need public-key configured
+    private static PublicKey derivePublicKey(PrivateKey privateKey) throws Exception {
+        if (privateKey instanceof RSAPrivateCrtKey rsa) {
+            return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(rsa.getModulus(), rsa.getPublicExponent()));
+        }
+        throw new IllegalArgumentException("application.security.jwt.public-key is required for " + privateKey.getAlgorithm() + " keys");
+    }
+
+    // Swapped as a whole so readers never see a JWKS that does not match the keys
+    private static final class KeySet {
+
+        private final SigningKey activeKey;
+        private final Map<String, SigningKey> keysById;
+        private final byte[] jwks;
+        private final String jwksETag;
+
+        private KeySet(SigningKey activeKey, Map<String, SigningKey> keysById, byte[] jwks, String jwksETag) {
+            this.activeKey = activeKey;
+            this.keysById = keysById;
+            this.jwks = jwks;
+            this.jwksETag = jwksETag;
+        }
+    }
+}
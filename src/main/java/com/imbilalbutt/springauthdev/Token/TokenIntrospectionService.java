@@ -0,0 +1,110 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import com.imbilalbutt.springauthdev.Config.JwtService;
+import com.imbilalbutt.springauthdev.Session.Redis.SessionRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Checks many credentials for an API gateway in one call. JWTs are verified locally, in parallel for
+ * larger batches, and session ids are resolved with a single MGET.
+ * Each result is {@code [1, subject, expiresAtEpochSeconds]} for a JWT, {@code [1, username]} for a
+ * session, or {@code [0]} when inactive, at the same position as the input.
+ */
+@Service
+@Slf4j
+public class TokenIntrospectionService {
+
+    private static final Object[] INACTIVE = {0};
+    private static final int PARALLEL_THRESHOLD = 32;
+
+    private final JwtService jwtService;
+    private final SessionRegistry sessionRegistry;
+    private final TokenRevocationService revocationService;
+    private final byte[] apiKey;
+    private final int maxBatchSize;
+
+    public TokenIntrospectionService(JwtService jwtService,
+                                     SessionRegistry sessionRegistry,
+                                     TokenRevocationService revocationService,
+                                     @Value("${application.security.introspection.api-key:}") String apiKey,
+                                     @Value("${application.security.introspection.max-batch-size:500}") int maxBatchSize) {
+        this.jwtService = jwtService;
+        this.sessionRegistry = sessionRegistry;
+        this.revocationService = revocationService;
+        this.apiKey = apiKey.getBytes(StandardCharsets.UTF_8);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    // Disabled until a key is configured; compared in constant time
+    public boolean isAuthorized(String presentedKey) {
+        return apiKey.length > 0 && presentedKey != null
+                && MessageDigest.isEqual(apiKey, presentedKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public List<Object[]> introspect(List<String> credentials) {
+        if (credentials.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " tokens can be introspected per call");
+        }
+
+        Object[][] results = new Object[credentials.size()][];
+        List<Integer> jwtPositions = new ArrayList<>();
+        List<Integer> sessionPositions = new ArrayList<>();
+        List<String> sessionIds = new ArrayList<>();
+        for (int i = 0; i < credentials.size(); i++) {
+            String credential = credentials.get(i);
+            if (credential == null || credential.isBlank()) {
+                results[i] = INACTIVE;
+            } else if (isJwt(credential)) {
+                jwtPositions.add(i);
+            } else {
+                sessionPositions.add(i);
+                sessionIds.add(credential);
+            }
+        }
+
+        IntStream jwtStream = IntStream.range(0, jwtPositions.size());
+        if (jwtPositions.size() >= PARALLEL_THRESHOLD) {
+            jwtStream = jwtStream.parallel();
+        }
+        // each task writes its own slot, so the array needs no locking
+        jwtStream.forEach(j -> results[jwtPositions.get(j)] = introspectJwt(credentials.get(jwtPositions.get(j))));
+
+        if (!sessionIds.isEmpty()) {
+            List<String> usernames = sessionRegistry.getUsernamesForSessions(sessionIds);
+            for (int s = 0; s < sessionPositions.size(); s++) {
+                String username = usernames.get(s);
+                results[sessionPositions.get(s)] = username != null ? new Object[]{1, username} : INACTIVE;
+            }
+        }
+        return List.of(results);
+    }
+
+    private Object[] introspectJwt(String token) {
+        try {
+            Claims claims = jwtService.parseToken(token);
+            if (revocationService.isRevoked(claims.getId())) {
+                return INACTIVE;
+            }
+            return new Object[]{1, claims.getSubject(), claims.getExpiration().getTime() / 1000};
+        } catch (JwtException | IllegalArgumentException e) {
+            return INACTIVE;
+        }
+    }
+
+    // A compact JWS has exactly two dots; session ids are base64url and have none
+    private static boolean isJwt(String credential) {
+        int first = credential.indexOf('.');
+        int second = first < 0 ? -1 : credential.indexOf('.', first + 1);
+        return second > 0 && credential.indexOf('.', second + 1) < 0;
+    }
+}
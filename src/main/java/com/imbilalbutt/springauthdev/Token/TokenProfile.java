@@ -0,0 +1,14 @@
+package com.imbilalbutt.springauthdev.Token;
+
+/**
+ * Claim layout of issued access tokens. Both verify the same way, so the profile can be switched
+ * without invalidating tokens already in circulation.
+ */
+public enum TokenProfile {
+
+    // jti as a UUID string, iat always present
+    STANDARD,
+
+    // 22-character jti, iat only if include-issued-at is set
+    COMPACT
+}
@@ -0,0 +1,122 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import com.imbilalbutt.springauthdev.commons.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Access-token denylist. Redis holds {@code revoked:<jti>} until the token's own expiry; every node keeps
+ * a Bloom filter of those ids, fed by pub/sub and rebuilt from Redis on a schedule. Tokens that were never
+ * revoked are cleared locally, and only Bloom hits cost a Redis lookup.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService implements MessageListener {
+
+    static final String KEY_PREFIX = "revoked:";
+    static final String CHANNEL = "token-revocations";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // Set while a rebuild scans Redis, so ids published meanwhile land in the replacement as well
+    private volatile BloomFilter rebuilding;
+
+    public TokenRevocationService(StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  @Value("${application.security.jwt.revocation.expected-entries:100000}") long expectedRevocations,
+                                  @Value("${application.security.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // Denies the token until it would have expired anyway
+    public void revoke(String tokenId, Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        if (tokenId == null || remaining.isNegative() || remaining.isZero()) {
+            return;
+        }
+        redisTemplate.opsForValue().set(KEY_PREFIX + tokenId, "1", remaining);
+        remember(tokenId);
+        redisTemplate.convertAndSend(CHANNEL, tokenId);
+    }
+
+    // Called for every authenticated request
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId));
+        } catch (RuntimeException e) {
+            // a Bloom hit is most likely a real revocation, so fail closed
+            log.warn("Could not confirm revocation of token {}; rejecting it", tokenId, e);
+            return true;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        remember(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void remember(String tokenId) {
+        filter.put(tokenId);
+        BloomFilter replacement = rebuilding;
+        if (replacement != null) {
+            replacement.put(tokenId);
+        }
+    }
+
+    // A fresh filter drops ids whose Redis keys have expired and repairs any missed pub/sub messages
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${application.security.jwt.revocation.rebuild-interval-ms:300000}",
+            initialDelayString = "${application.security.jwt.revocation.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        BloomFilter replacement = new BloomFilter(expectedRevocations, falsePositiveRate);
+        rebuilding = replacement;
+        long count = 0;
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build())) {
+            while (keys.hasNext()) {
+                replacement.put(keys.next().substring(KEY_PREFIX.length()));
+                count++;
+            }
+            filter = replacement;
+            log.debug("Revocation filter rebuilt with {} entries", count);
+            if (count > expectedRevocations) {
+                log.warn("{} revoked tokens exceed the expected {}; the false-positive rate will rise", count, expectedRevocations);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the revocation filter; keeping the current one", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+}
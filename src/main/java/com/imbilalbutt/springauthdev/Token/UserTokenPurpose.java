@@ -0,0 +1,6 @@
+package com.imbilalbutt.springauthdev.Token;
+
+public enum UserTokenPurpose {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
@@ -0,0 +1,117 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-use email verification and password reset tokens in user_token (V7). Only the SHA-256 of a
+ * token is stored, so every key is 32 bytes and a leaked table cannot be replayed. Using a token
+ * deletes it in the same statement that checks it, and expired tokens are swept in batches, so the
+ * table stays as small as the number of outstanding tokens.
+ */
+@Service
+@Slf4j
+public class UserTokenStore implements MeterBinder {
+
+    private static final int TOKEN_BYTES = 32;
+
+    // Replaces any outstanding token of the same purpose
+    static final String ISSUE_SQL =
+            "INSERT INTO user_token (token_hash, purpose, user_id, expires_at) VALUES (?, ?, ?, now() + ? * INTERVAL '1 millisecond') "
+                    + "ON CONFLICT (user_id, purpose) DO UPDATE SET token_hash = EXCLUDED.token_hash, "
+                    + "created_at = now(), expires_at = EXCLUDED.expires_at";
+    static final String ISSUE_IF_ABSENT_SQL =
+            "INSERT INTO user_token (token_hash, purpose, user_id, expires_at) VALUES (?, ?, ?, now() + ? * INTERVAL '1 millisecond') "
+                    + "ON CONFLICT (user_id, purpose) DO NOTHING";
+    static final String FIND_SQL =
+            "SELECT user_id FROM user_token WHERE token_hash = ? AND purpose = ? AND expires_at > now()";
+    static final String CONSUME_SQL =
+            "DELETE FROM user_token WHERE token_hash = ? AND purpose = ? AND expires_at > now() RETURNING user_id";
+    static final String SWEEP_SQL =
+            "DELETE FROM user_token WHERE token_hash IN "
+                    + "(SELECT token_hash FROM user_token WHERE expires_at <= now() LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int sweepBatchSize;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final LongAdder swept = new LongAdder();
+
+    public UserTokenStore(JdbcTemplate jdbcTemplate,
+                          @Value("${user.tokens.sweep-batch-size:1000}") int sweepBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    public String issue(Integer userId, UserTokenPurpose purpose, Duration ttl) {
+        String token = newToken();
+        jdbcTemplate.update(ISSUE_SQL, hash(token), purpose.name(), userId, ttl.toMillis());
+        return token;
+    }
+
+    // Empty when the user already has an outstanding token for this purpose
+    public Optional<String> issueIfAbsent(Integer userId, UserTokenPurpose purpose, Duration ttl) {
+        String token = newToken();
+        int inserted = jdbcTemplate.update(ISSUE_IF_ABSENT_SQL, hash(token), purpose.name(), userId, ttl.toMillis());
+        return inserted == 1 ? Optional.of(token) : Optional.empty();
+    }
+
+    // Checks a token without using it up, e.g. before showing the reset form
+    public Optional<Integer> findUserId(String token, UserTokenPurpose purpose) {
+        List<Integer> ids = jdbcTemplate.queryForList(FIND_SQL, Integer.class, hash(token), purpose.name());
+        return ids.stream().findFirst();
+    }
+
+    // Uses the token up; of two concurrent callers only one gets the user id
+    public Optional<Integer> consume(String token, UserTokenPurpose purpose) {
+        List<Integer> ids = jdbcTemplate.queryForList(CONSUME_SQL, Integer.class, hash(token), purpose.name());
+        return ids.stream().findFirst();
+    }
+
+    @Scheduled(fixedDelayString = "${user.tokens.sweep-interval-ms:600000}")
+    public void sweepExpired() {
+        try {
+            int deleted;
+            long total = 0;
+            do {
+                deleted = jdbcTemplate.update(SWEEP_SQL, sweepBatchSize);
+                total += deleted;
+            } while (deleted == sweepBatchSize);
+            swept.add(total);
+            if (total > 0) {
+                log.info("Swept {} expired user tokens", total);
+            }
+        } catch (Exception e) {
+            log.error("Expired user token sweep failed", e);
+        }
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return JwkSupport.encode(bytes);
+    }
+
+    static byte[] hash(String token) {
+        return JwkSupport.sha256(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.tokens.swept", swept, LongAdder::sum)
+                .description("Expired email verification and password reset tokens deleted")
+                .register(registry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.imbilalbutt.springauthdev.commons;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter: {@link #mightContain} never returns false for an added key, and returns
+ * true for an absent key with roughly the configured probability. Lock-free and safe for concurrent use.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs positive insertions and a rate between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String key) {
+        long hash = Hashing.hash64(key);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = Hashing.hash64(key);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    // Kirsch-Mitzenmacher double hashing over the two halves of one 64-bit hash
+    private long bitIndex(long hash, int i) {
+        long combined = (hash >>> 32) + i * (hash & 0xFFFFFFFFL) + (long) i * i;
+        return (combined & Long.MAX_VALUE) % bitCount;
+    }
+}
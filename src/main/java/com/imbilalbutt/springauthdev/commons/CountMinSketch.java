@@ -0,0 +1,53 @@
+package com.imbilalbutt.springauthdev.commons;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size frequency sketch: estimates never under-count and over-count by at most
+ * ~ e/width of the total with probability 1 - e^-depth. Lock-free and safe for concurrent use.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final AtomicIntegerArray counters;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Count-min sketch width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new AtomicIntegerArray(width * depth);
+    }
+
+    // Returns the new estimate for the key
+    public int increment(long hash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    public int estimate(long hash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    // Exponential decay: halving keeps recent activity dominant without a second sketch
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, value -> value >>> 1);
+        }
+    }
+
+    private int index(long hash, int row) {
+        // Kirsch-Mitzenmacher: derive the row hashes from two halves of one 64-bit hash
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return row * width + ((combined & Integer.MAX_VALUE) % width);
+    }
+}
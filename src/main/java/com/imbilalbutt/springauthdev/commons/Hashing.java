@@ -0,0 +1,32 @@
+package com.imbilalbutt.springauthdev.commons;
+
+import java.nio.charset.StandardCharsets;
+
+public final class Hashing {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    // FNV-1a over UTF-8 followed by the MurmurHash3 finalizer, so every output bit is well mixed
+    public static long hash64(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            hash ^= (b & 0xFF);
+            hash *= FNV_PRIME;
+        }
+        return mix64(hash);
+    }
+
+    public static long mix64(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,130 @@
+package com.imbilalbutt.springauthdev.commons;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Space-Saving top-k: tracks at most {@code capacity} keys, each with a reusable payload.
+ * A new key evicts the smallest counter and inherits its count as the error bound, so any key
+ * more frequent than total/capacity is guaranteed to be tracked. Not thread-safe; callers synchronise.
+ */
+public class HeavyHitters<P> {
+
+    private final int capacity;
+    private final Consumer<P> payloadReset;
+    private final Map<String, Entry<P>> entries;
+    private final List<P> spare = new ArrayList<>();
+
+    public HeavyHitters(int capacity, Supplier<P> payloadFactory, Consumer<P> payloadReset) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Heavy hitter capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.payloadReset = payloadReset;
+        this.entries = new HashMap<>(capacity * 2);
+        // payloads are allocated once and recycled, so memory does not depend on the key stream
+        for (int i = 0; i < capacity; i++) {
+            spare.add(payloadFactory.get());
+        }
+    }
+
+    public Entry<P> increment(String key) {
+        Entry<P> entry = entries.get(key);
+        if (entry == null) {
+            entry = admit(key);
+        }
+        entry.count++;
+        return entry;
+    }
+
+    public Entry<P> get(String key) {
+        return entries.get(key);
+    }
+
+    private Entry<P> admit(String key) {
+        if (entries.size() < capacity) {
+            Entry<P> entry = new Entry<>(key, spare.remove(spare.size() - 1), 0);
+            entries.put(key, entry);
+            return entry;
+        }
+        Entry<P> smallest = null;
+        for (Entry<P> candidate : entries.values()) {
+            if (smallest == null || candidate.count < smallest.count) {
+                smallest = candidate;
+            }
+        }
+        entries.remove(smallest.key);
+        payloadReset.accept(smallest.payload);
+        Entry<P> entry = new Entry<>(key, smallest.payload, smallest.count);
+        entry.count = smallest.count;
+        entries.put(key, entry);
+        return entry;
+    }
+
+    // Halves every counter and forgets keys that reach zero
+    public void decay() {
+        Iterator<Entry<P>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<P> entry = iterator.next();
+            entry.count >>>= 1;
+            entry.error >>>= 1;
+            if (entry.count == 0) {
+                iterator.remove();
+                payloadReset.accept(entry.payload);
+                spare.add(entry.payload);
+            }
+        }
+    }
+
+    public void forEachPayload(Consumer<P> action) {
+        entries.values().forEach(entry -> action.accept(entry.payload));
+    }
+
+    public List<Entry<P>> top(int limit) {
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong((Entry<P> e) -> e.count).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static final class Entry<P> {
+
+        private final String key;
+        private final P payload;
+        private long count;
+        private long error;
+
+        private Entry(String key, P payload, long error) {
+            this.key = key;
+            this.payload = payload;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public P getPayload() {
+            return payload;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        // Upper bound on how much of the count was inherited from evicted keys
+        public long getError() {
+            return error;
+        }
+    }
+}
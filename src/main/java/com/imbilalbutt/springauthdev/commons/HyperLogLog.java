@@ -0,0 +1,65 @@
+package com.imbilalbutt.springauthdev.commons;
+
+import java.util.Arrays;
+
+/**
+ * Cardinality estimator with 2^precision one-byte registers (standard error ~ 1.04 / sqrt(2^precision)).
+ * Not thread-safe; callers synchronise.
+ */
+public class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between 4 and 16");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    // Returns true when a register changed, i.e. when the estimate may have moved
+    public boolean add(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // the sentinel bit bounds the rank when the remaining bits are all zero
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // linear counting is more accurate for small cardinalities
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+}
@@ -0,0 +1,11 @@
+-- V10__drop_user_token_columns.sql
+-- Contract step for V7: once no running instance reads the token columns on _user, drop them. V7 already
+-- copied every usable token; copying again would revive reset tokens used since (using one only deletes its
+-- user_token row). Held back by spring.flyway.target until the release after V7 is fully rolled out.
+
+DROP INDEX IF EXISTS idx_user_email_verification_token;
+DROP INDEX IF EXISTS idx_user_password_reset_token;
+
+ALTER TABLE _user DROP COLUMN IF EXISTS email_verification_token;
+ALTER TABLE _user DROP COLUMN IF EXISTS password_reset_token;
+ALTER TABLE _user DROP COLUMN IF EXISTS password_reset_token_expiry;
@@ -0,0 +1,25 @@
+-- V3__audit_event_table.sql
+-- Durable security audit trail, range-partitioned by day (UTC)
+-- Daily partitions are created ahead of time and dropped after retention by AuditPartitionMaintenance
+
+CREATE TABLE IF NOT EXISTS audit_event (
+    id BIGSERIAL NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    username VARCHAR(255),
+    ip_address VARCHAR(45),
+    detail VARCHAR(255),
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+-- Catches rows outside the provisioned daily ranges so inserts never fail
+CREATE TABLE IF NOT EXISTS audit_event_default PARTITION OF audit_event DEFAULT;
+
+-- Indexes are created on every partition automatically
+CREATE INDEX idx_audit_event_username ON audit_event(username, occurred_at);
+CREATE INDEX idx_audit_event_ip_address ON audit_event(ip_address, occurred_at);
+
+COMMENT ON TABLE audit_event IS 'Security audit events written by SecurityAuditLogger';
+COMMENT ON COLUMN audit_event.occurred_at IS 'Event time in UTC';
+COMMENT ON COLUMN audit_event.event_type IS 'AUTH_SUCCESS, AUTH_FAILURE, ACCOUNT_LOCKED, SESSION_CREATED, ...';
+COMMENT ON COLUMN audit_event.detail IS 'Type-specific detail: failure reason, session id, failed attempt count';
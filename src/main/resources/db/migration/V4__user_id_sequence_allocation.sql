@@ -0,0 +1,6 @@
+-- V4__user_id_sequence_allocation.sql
+-- Hibernate now draws _user ids from the SERIAL sequence in blocks of 50 (pooled-lo optimizer),
+-- so bulk inserts can be JDBC-batched with one nextval per block. An insert relying on the column
+-- default still gets a unique id; it just uses up a whole block.
+
+ALTER SEQUENCE _user_id_seq INCREMENT BY 50;
@@ -0,0 +1,13 @@
+-- V5__user_login_activity.sql
+-- Last sign-in time and sign-in count per user, kept out of _user so logins do not add row versions there.
+-- Written in batches by LoginActivityRecorder; a row appears after the user's first recorded sign-in.
+
+CREATE TABLE IF NOT EXISTS user_login_activity (
+    user_id INTEGER PRIMARY KEY REFERENCES _user(id) ON DELETE CASCADE,
+    last_login_at TIMESTAMP NOT NULL,
+    login_count BIGINT NOT NULL DEFAULT 0
+);
+
+COMMENT ON TABLE user_login_activity IS 'Sign-in activity accumulated in memory and upserted every flush interval';
+COMMENT ON COLUMN user_login_activity.last_login_at IS 'Most recent successful sign-in in UTC';
+COMMENT ON COLUMN user_login_activity.login_count IS 'Successful sign-ins since tracking began';
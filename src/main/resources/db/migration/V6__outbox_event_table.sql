@@ -0,0 +1,23 @@
+-- V6__outbox_event_table.sql
+-- Transactional outbox: side effects are inserted in the same transaction as the change that causes them
+-- and delivered afterwards by OutboxRelay. Delivered rows are deleted; rows that keep failing are parked.
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(64) NOT NULL,
+    aggregate_id VARCHAR(255) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    available_at TIMESTAMP NOT NULL DEFAULT now(),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    failed_at TIMESTAMP
+);
+
+-- Only deliverable rows are indexed; parked rows drop out of the relay's scan
+CREATE INDEX idx_outbox_event_pending ON outbox_event(available_at, id) WHERE failed_at IS NULL;
+
+COMMENT ON TABLE outbox_event IS 'Pending side effects, drained by OutboxRelay with FOR UPDATE SKIP LOCKED';
+COMMENT ON COLUMN outbox_event.available_at IS 'Not before this time: creation, retry backoff, or the lease of the node holding it';
+COMMENT ON COLUMN outbox_event.attempts IS 'Deliveries started so far';
+COMMENT ON COLUMN outbox_event.failed_at IS 'Set when the event was parked after too many failures';
@@ -0,0 +1,39 @@
+-- V7__user_token_table.sql
+-- Email verification and password reset tokens move out of _user into their own table, keyed by the
+-- SHA-256 of the token. Rows are deleted when a token is used and swept once expired, so the table and
+-- its indexes only ever hold outstanding tokens.
+
+CREATE TABLE IF NOT EXISTS user_token (
+    token_hash BYTEA PRIMARY KEY,
+    purpose VARCHAR(32) NOT NULL,
+    user_id INTEGER NOT NULL REFERENCES _user(id) ON DELETE CASCADE,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT chk_user_token_hash_length CHECK (octet_length(token_hash) = 32)
+);
+
+-- One outstanding token per user and purpose; also serves the cascade from _user
+CREATE UNIQUE INDEX idx_user_token_user_purpose ON user_token(user_id, purpose);
+-- For the expiry sweeper
+CREATE INDEX idx_user_token_expires_at ON user_token(expires_at);
+
+-- Carry over tokens that are still usable; verification tokens had no expiry, so give them the default TTL
+INSERT INTO user_token (token_hash, purpose, user_id, expires_at)
+SELECT sha256(convert_to(email_verification_token, 'UTF8')), 'EMAIL_VERIFICATION', id, now() + INTERVAL '7 days'
+FROM _user
+WHERE email_verification_token IS NOT NULL AND email_verified = false
+ON CONFLICT DO NOTHING;
+
+INSERT INTO user_token (token_hash, purpose, user_id, expires_at)
+SELECT sha256(convert_to(password_reset_token, 'UTF8')), 'PASSWORD_RESET', id, password_reset_token_expiry
+FROM _user
+WHERE password_reset_token IS NOT NULL AND password_reset_token_expiry > now()
+ON CONFLICT DO NOTHING;
+
+-- The old _user columns stay while instances of the previous release may still read them; V10 drops them
+COMMENT ON COLUMN _user.email_verification_token IS 'Superseded by user_token; dropped by V10';
+COMMENT ON COLUMN _user.password_reset_token IS 'Superseded by user_token; dropped by V10';
+
+COMMENT ON TABLE user_token IS 'Outstanding single-use tokens; the plaintext is only ever held by the user';
+COMMENT ON COLUMN user_token.token_hash IS 'SHA-256 of the token as sent to the user';
+COMMENT ON COLUMN user_token.purpose IS 'EMAIL_VERIFICATION or PASSWORD_RESET';
@@ -0,0 +1,4 @@
+-- V8__user_account_lock_index.sql
+-- Lets AccountLockExpiry find lapsed locks without scanning _user; only locked rows are indexed
+
+CREATE INDEX IF NOT EXISTS idx_user_account_locked_until ON _user(account_locked_until) WHERE locked = true;
@@ -0,0 +1,7 @@
+-- V9__audit_event_text_columns.sql
+-- username and detail carry caller-supplied values (attempted login names, activity descriptions)
+-- that can exceed 255 characters; a failed batch insert would drop every event in it.
+-- VARCHAR -> TEXT is binary compatible, so this does not rewrite the partitions.
+
+ALTER TABLE audit_event ALTER COLUMN username TYPE TEXT;
+ALTER TABLE audit_event ALTER COLUMN detail TYPE TEXT;
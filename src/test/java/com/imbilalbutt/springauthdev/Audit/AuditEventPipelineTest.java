@@ -0,0 +1,258 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditEventPipeline Unit Tests")
+class AuditEventPipelineTest {
+
+    private final List<AuditEvent> written = Collections.synchronizedList(new ArrayList<>());
+    private final AuditEventSink collectingSink = written::addAll;
+    private AuditEventPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Nested
+    @DisplayName("Ring Buffer Tests")
+    class RingBufferTests {
+
+        @Test
+        @DisplayName("Should round capacity up to a power of two")
+        void shouldRoundCapacityUp() {
+            assertThat(new AuditRingBuffer(5).capacity()).isEqualTo(8);
+            assertThat(new AuditRingBuffer(8).capacity()).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("Should reject offers when full and accept again after draining")
+        void shouldRejectWhenFull() {
+            AuditRingBuffer buffer = new AuditRingBuffer(4);
+            for (int i = 0; i < 4; i++) {
+                assertThat(buffer.offer(event("user" + i))).isTrue();
+            }
+            assertThat(buffer.offer(event("overflow"))).isFalse();
+
+            List<AuditEvent> drained = new ArrayList<>();
+            assertThat(buffer.drainTo(drained, 2)).isEqualTo(2);
+            assertThat(drained).extracting(AuditEvent::getUsername).containsExactly("user0", "user1");
+            assertThat(buffer.offer(event("user4"))).isTrue();
+            assertThat(buffer.size()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should not lose events with concurrent producers")
+        void shouldNotLoseEventsWithConcurrentProducers() throws Exception {
+            AuditRingBuffer buffer = new AuditRingBuffer(1 << 14);
+            int producers = 8;
+            int perProducer = 1000;
+            ExecutorService executor = Executors.newFixedThreadPool(producers);
+            CountDownLatch start = new CountDownLatch(1);
+            for (int p = 0; p < producers; p++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        buffer.offer(event("user"));
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            List<AuditEvent> drained = new ArrayList<>();
+            buffer.drainTo(drained, Integer.MAX_VALUE);
+            assertThat(drained).hasSize(producers * perProducer).doesNotContainNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Pipeline Tests")
+    class PipelineTests {
+
+        @Test
+        @DisplayName("Should write synchronously when disabled")
+        void shouldWriteSynchronouslyWhenDisabled() {
+            pipeline = pipeline(false, 16, AuditOverflowPolicy.DROP);
+            pipeline.start();
+
+            pipeline.publish(event("john@example.com"));
+
+            assertThat(written).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should not call sinks concurrently when writing on request threads")
+        void shouldSerializeSynchronousWrites() throws Exception {
+            AtomicInteger inSink = new AtomicInteger();
+            AtomicInteger overlaps = new AtomicInteger();
+            pipeline = new AuditEventPipeline(List.of(batch -> {
+                if (inSink.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                Thread.onSpinWait();
+                written.addAll(batch);
+                inSink.decrementAndGet();
+            }), false, 16, 16, 5, AuditOverflowPolicy.DROP, 1, 10);
+            pipeline.start();
+
+            int threads = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 200; i++) {
+                        pipeline.publish(event("user" + i));
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(overlaps).hasValue(0);
+            assertThat(written).hasSize(threads * 200);
+        }
+
+        @Test
+        @DisplayName("Should drain published events in the background")
+        void shouldDrainInBackground() throws Exception {
+            pipeline = pipeline(true, 64, AuditOverflowPolicy.DROP);
+            pipeline.start();
+
+            for (int i = 0; i < 10; i++) {
+                pipeline.publish(event("user" + i));
+            }
+
+            awaitWritten(10);
+            assertThat(written).extracting(AuditEvent::getUsername).startsWith("user0", "user1");
+            assertThat(pipeline.getDroppedCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should flush remaining events on stop")
+        void shouldFlushOnStop() {
+            pipeline = pipeline(true, 64, AuditOverflowPolicy.DROP);
+            pipeline.start();
+            pipeline.publish(event("john@example.com"));
+
+            pipeline.stop();
+
+            assertThat(written).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should reset lag once the buffer is empty")
+        void shouldResetLagWhenIdle() throws Exception {
+            pipeline = pipeline(true, 64, AuditOverflowPolicy.DROP);
+            pipeline.start();
+            pipeline.publish(event("john@example.com"));
+
+            awaitWritten(1);
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (pipeline.getLagMillis() != 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(pipeline.getLagMillis()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not strand events published while stopping")
+        void shouldNotStrandEventsPublishedWhileStopping() throws Exception {
+            pipeline = pipeline(true, 1024, AuditOverflowPolicy.DROP);
+            pipeline.start();
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    pipeline.publish(event("user" + i));
+                }
+            });
+
+            producer.start();
+            pipeline.stop();
+            producer.join();
+
+            assertThat(written).hasSize(500);
+            assertThat(pipeline.getLagEvents()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should count drops when the buffer overflows")
+        void shouldCountDropsOnOverflow() {
+            // not started: fill the buffer without a writer draining it
+            pipeline = pipeline(true, 4, AuditOverflowPolicy.DROP);
+            setRunning(pipeline);
+
+            for (int i = 0; i < 6; i++) {
+                pipeline.publish(event("user" + i));
+            }
+
+            assertThat(pipeline.getPublishedCount()).isEqualTo(4);
+            assertThat(pipeline.getDroppedCount()).isEqualTo(2);
+            assertThat(pipeline.getLagEvents()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should sample events above the high-water mark")
+        void shouldSampleAboveHighWaterMark() {
+            pipeline = pipeline(true, 8, AuditOverflowPolicy.SAMPLE);
+            setRunning(pipeline);
+
+            for (int i = 0; i < 26; i++) {
+                pipeline.publish(event("user" + i));
+            }
+
+            // 6 events reach the high-water mark, then one in ten is admitted
+            assertThat(pipeline.getPublishedCount()).isEqualTo(8);
+            assertThat(pipeline.getDroppedCount()).isEqualTo(18);
+        }
+    }
+
+    private AuditEventPipeline pipeline(boolean enabled, int capacity, AuditOverflowPolicy policy) {
+        return new AuditEventPipeline(List.of(collectingSink), enabled, capacity, 16, 5, policy, 1, 10);
+    }
+
+    private void setRunning(AuditEventPipeline target) {
+        try {
+            var runningField = AuditEventPipeline.class.getDeclaredField("running");
+            runningField.setAccessible(true);
+            runningField.set(target, true);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void awaitWritten(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (written.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(written).hasSize(expected);
+    }
+
+    private static AuditEvent event(String username) {
+        return new AuditEvent(AuditEventType.AUTH_FAILURE, username, "127.0.0.1", "Invalid credentials", Instant.now());
+    }
+}
@@ -0,0 +1,184 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditJournal Unit Tests")
+class AuditJournalTest {
+
+    private static final Instant T0 = Instant.parse("2026-04-24T19:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Nested
+    @DisplayName("Query Tests")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Should find events by time range")
+        void shouldFindEventsByTimeRange() throws Exception {
+            AuditJournal journal = journal(16, 4);
+            journal.write(List.of(
+                    event("john@example.com", T0),
+                    event("jane@example.com", T0.plusSeconds(60)),
+                    event("john@example.com", T0.plusSeconds(120))));
+
+            List<AuditEvent> events = journal.findByTimeRange(T0.plusSeconds(30), T0.plusSeconds(180), 10);
+
+            assertThat(events).extracting(AuditEvent::getUsername)
+                    .containsExactly("jane@example.com", "john@example.com");
+        }
+
+        @Test
+        @DisplayName("Should find events by user regardless of case")
+        void shouldFindEventsByUser() throws Exception {
+            AuditJournal journal = journal(16, 4);
+            journal.write(List.of(
+                    event("john@example.com", T0),
+                    event("jane@example.com", T0.plusSeconds(60)),
+                    event("John@Example.com", T0.plusSeconds(120))));
+
+            List<AuditEvent> events = journal.findByUser("JOHN@example.com", T0, T0.plusSeconds(3600), 10);
+
+            assertThat(events).hasSize(2);
+            assertThat(events.get(0).getType()).isEqualTo(AuditEventType.AUTH_FAILURE);
+            assertThat(events.get(0).getIpAddress()).isEqualTo("203.0.113.7");
+            assertThat(events.get(0).getDetail()).isEqualTo("Invalid credentials");
+            assertThat(events.get(0).getOccurredAt()).isEqualTo(T0);
+        }
+
+        @Test
+        @DisplayName("Should use the sparse time index without missing out-of-order records")
+        void shouldSkipIndexedBlocks() throws Exception {
+            int records = AuditJournalSegment.INDEX_STRIDE * 4;
+            AuditJournal journal = journal(records, 4);
+            List<AuditEvent> batch = new ArrayList<>(records);
+            for (int i = 0; i < records; i++) {
+                batch.add(event("user" + i + "@example.com", T0.plusSeconds(i)));
+            }
+            // a straggler that reached the journal late, sitting in the last block
+            batch.set(records - 1, event("late@example.com", T0.plusSeconds(10)));
+            journal.write(batch);
+
+            List<AuditEvent> events = journal.findByTimeRange(T0.plusSeconds(5), T0.plusSeconds(15), 100);
+
+            assertThat(events).extracting(AuditEvent::getUsername)
+                    .hasSize(11)
+                    .contains("user5@example.com", "user14@example.com", "late@example.com");
+        }
+
+        @Test
+        @DisplayName("Should honour the result limit")
+        void shouldHonourLimit() throws Exception {
+            AuditJournal journal = journal(16, 4);
+            journal.write(List.of(event("a@example.com", T0), event("b@example.com", T0), event("c@example.com", T0)));
+
+            assertThat(journal.findByTimeRange(T0, T0.plusSeconds(1), 2)).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Should truncate oversized fields without breaking characters")
+        void shouldTruncateOversizedFields() throws Exception {
+            AuditJournal journal = journal(16, 4);
+            String longName = "é".repeat(100) + "@example.com";
+            journal.write(List.of(event(longName, T0)));
+
+            String stored = journal.findByTimeRange(T0, T0.plusSeconds(1), 1).get(0).getUsername();
+
+            assertThat(stored).hasSize(48).matches("é+");
+        }
+    }
+
+    @Nested
+    @DisplayName("Segment Tests")
+    class SegmentTests {
+
+        @Test
+        @DisplayName("Should rotate into new segments and delete beyond retention")
+        void shouldRotateSegments() throws Exception {
+            AuditJournal journal = journal(2, 2);
+            for (int i = 0; i < 5; i++) {
+                journal.write(List.of(event("user" + i + "@example.com", T0.plusSeconds(i))));
+            }
+
+            assertThat(segmentFiles()).isEqualTo(2);
+            assertThat(journal.findByTimeRange(T0, T0.plusSeconds(10), 10))
+                    .extracting(AuditEvent::getUsername)
+                    .containsExactly("user2@example.com", "user3@example.com", "user4@example.com");
+        }
+
+        @Test
+        @DisplayName("Should keep every record when written from several threads")
+        void shouldSerializeConcurrentWriters() throws Exception {
+            AuditJournal journal = journal(64, 32);
+            int threads = 8;
+            int perThread = 100;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        journal.write(List.of(event("t" + thread + "-" + i + "@example.com", T0.plusSeconds(i))));
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            // no slot overwritten and no segment created twice
+            assertThat(journal.findByTimeRange(T0, T0.plusSeconds(perThread), threads * perThread + 1))
+                    .extracting(AuditEvent::getUsername)
+                    .doesNotHaveDuplicates()
+                    .hasSize(threads * perThread);
+            assertThat(segmentFiles()).isEqualTo(threads * perThread / 64 + 1);
+        }
+
+        @Test
+        @DisplayName("Should recover committed records after reopening")
+        void shouldRecoverAfterReopen() throws Exception {
+            AuditJournal journal = journal(8, 4);
+            journal.write(List.of(event("john@example.com", T0), event("jane@example.com", T0.plusSeconds(1))));
+            journal.close();
+
+            AuditJournal reopened = journal(8, 4);
+            reopened.write(List.of(event("jack@example.com", T0.plusSeconds(2))));
+
+            assertThat(reopened.findByTimeRange(T0, T0.plusSeconds(10), 10)).hasSize(3);
+            assertThat(segmentFiles()).isEqualTo(1);
+        }
+    }
+
+    private AuditJournal journal(int segmentRecords, int maxSegments) throws Exception {
+        return new AuditJournal(directory.toString(), segmentRecords, maxSegments, false);
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static AuditEvent event(String username, Instant occurredAt) {
+        return new AuditEvent(AuditEventType.AUTH_FAILURE, username, "203.0.113.7", "Invalid credentials", occurredAt);
+    }
+}
@@ -0,0 +1,108 @@
+package com.imbilalbutt.springauthdev.Audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("JdbcAuditEventSink Unit Tests")
+class JdbcAuditEventSinkTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcAuditEventSink sink;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        sink = new JdbcAuditEventSink(jdbcTemplate, 3, 60_000);
+    }
+
+    @Nested
+    @DisplayName("Flush Trigger Tests")
+    class FlushTriggerTests {
+
+        @Test
+        @DisplayName("Should hold events until the batch size is reached")
+        void shouldHoldEventsBelowBatchSize() {
+            sink.write(List.of(event(), event()));
+
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                    any(ParameterizedPreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should insert one JDBC batch when the size trigger fires")
+        void shouldInsertOnSizeTrigger() {
+            sink.write(List.of(event(), event()));
+            sink.write(List.of(event()));
+
+            verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((Collection<?> c) -> c.size() == 3),
+                    anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should not flush on the timer before the interval has passed")
+        void shouldNotFlushBeforeInterval() {
+            sink.write(List.of(event()));
+
+            sink.flushIfDue();
+
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                    any(ParameterizedPreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should write pending events on explicit flush")
+        void shouldWritePendingOnFlush() {
+            sink.write(List.of(event()));
+
+            sink.flush();
+
+            verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((Collection<?> c) -> c.size() == 1),
+                    anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Partition Naming Tests")
+    class PartitionNamingTests {
+
+        @Test
+        @DisplayName("Should round-trip daily partition names")
+        void shouldRoundTripPartitionNames() {
+            LocalDate day = LocalDate.of(2026, 4, 24);
+
+            String name = AuditPartitionMaintenance.partitionName(day);
+
+            assertThat(name).isEqualTo("audit_event_p20260424");
+            assertThat(AuditPartitionMaintenance.partitionDay(name)).isEqualTo(day);
+        }
+
+        @Test
+        @DisplayName("Should ignore the default partition")
+        void shouldIgnoreDefaultPartition() {
+            assertThat(AuditPartitionMaintenance.partitionDay("audit_event_default")).isNull();
+        }
+    }
+
+    private static AuditEvent event() {
+        return new AuditEvent(AuditEventType.AUTH_FAILURE, "john@example.com", "127.0.0.1", "Invalid credentials", Instant.now());
+    }
+}
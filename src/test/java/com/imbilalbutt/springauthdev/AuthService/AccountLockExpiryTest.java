@@ -0,0 +1,46 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AccountLockExpiry Unit Tests")
+class AccountLockExpiryTest {
+
+    private UserRepository userRepository;
+    private AccountLockExpiry expiry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        expiry = new AccountLockExpiry(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should skip the bulk update when no lock has lapsed")
+    void shouldSkipUpdateWhenNothingLapsed() {
+        when(userRepository.countExpiredLocks(any(LocalDateTime.class))).thenReturn(0L);
+
+        expiry.clearExpiredLocks();
+
+        verify(userRepository, never()).clearExpiredLocks(any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should clear lapsed locks when there are some")
+    void shouldClearLapsedLocks() {
+        when(userRepository.countExpiredLocks(any(LocalDateTime.class))).thenReturn(2L);
+
+        expiry.clearExpiredLocks();
+
+        verify(userRepository).clearExpiredLocks(any(LocalDateTime.class));
+    }
+}
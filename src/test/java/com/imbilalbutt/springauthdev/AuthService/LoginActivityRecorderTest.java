@@ -0,0 +1,118 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("LoginActivityRecorder Unit Tests")
+class LoginActivityRecorderTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LoginActivityRecorder recorder;
+    private List<Map.Entry<Integer, LoginActivityRecorder.Activity>> written;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        written = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(LoginActivityRecorder.UPSERT_SQL), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            written.addAll(invocation.getArgument(1));
+            return new int[0][];
+        });
+        recorder = new LoginActivityRecorder(jdbcTemplate, 2, 4);
+    }
+
+    @Nested
+    @DisplayName("Flush Tests")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Should write one row per user however many sign-ins")
+        void shouldCollapseSignInsPerUser() {
+            for (int i = 0; i < 5; i++) {
+                recorder.recordLogin(7);
+            }
+            recorder.recordLogin(3);
+
+            recorder.flush();
+
+            assertThat(written).extracting(Map.Entry::getKey).containsExactly(3, 7);
+            assertThat(written.get(1).getValue().count).isEqualTo(5);
+            assertThat(recorder.pendingUsers()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should skip the database when nothing was recorded")
+        @SuppressWarnings("unchecked")
+        void shouldSkipEmptyFlush() {
+            recorder.flush();
+
+            verify(jdbcTemplate, never()).batchUpdate(any(String.class), any(Collection.class), anyInt(),
+                    any(ParameterizedPreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should merge failed rows into the next flush")
+        @SuppressWarnings("unchecked")
+        void shouldRetryFailedRows() {
+            when(jdbcTemplate.batchUpdate(eq(LoginActivityRecorder.UPSERT_SQL), any(Collection.class), anyInt(),
+                    any(ParameterizedPreparedStatementSetter.class)))
+                    .thenThrow(new DataAccessResourceFailureException("down"))
+                    .thenAnswer(invocation -> {
+                        written.addAll(invocation.getArgument(1));
+                        return new int[0][];
+                    });
+            recorder.recordLogin(1);
+            recorder.recordLogin(1);
+            recorder.flush();
+
+            assertThat(recorder.pendingUsers()).isEqualTo(1);
+
+            recorder.recordLogin(1);
+            recorder.flush();
+
+            assertThat(written).hasSize(1);
+            assertThat(written.get(0).getValue().count).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should bind user id, time and count")
+        @SuppressWarnings("unchecked")
+        void shouldBindParameters() throws Exception {
+            recorder.recordLogin(42);
+            recorder.flush();
+
+            ArgumentCaptor<ParameterizedPreparedStatementSetter> setter = ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+            verify(jdbcTemplate).batchUpdate(eq(LoginActivityRecorder.UPSERT_SQL), any(Collection.class), anyInt(),
+                    setter.capture());
+            PreparedStatement ps = mock(PreparedStatement.class);
+            setter.getValue().setValues(ps, written.get(0));
+
+            verify(ps).setInt(1, 42);
+            verify(ps).setLong(3, 1L);
+            verify(ps).setInt(4, 42);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.commons.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("UserAdminService Unit Tests")
+class UserAdminServiceTest {
+
+    private EntityManager entityManager;
+    private TypedQuery<User> query;
+    private JdbcTemplate jdbcTemplate;
+    private UserAdminService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        query = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(User.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new UserAdminService(entityManager, new UserConverter(), jdbcTemplate,
+                mock(PlatformTransactionManager.class), new ObjectMapper(), 3, 1000);
+    }
+
+    @Nested
+    @DisplayName("Listing Tests")
+    class ListingTests {
+
+        @Test
+        @DisplayName("Should return the last id as the cursor when more rows follow")
+        void shouldReturnCursorWhenMoreRowsFollow() {
+            when(query.getResultList()).thenReturn(List.of(user(4), user(7), user(9)));
+
+            UserPage page = service.listUsers(0, 2, null, null);
+
+            assertThat(page.getUsers()).extracting(UserDTO::getId).containsExactly(4, 7);
+            assertThat(page.getNextAfterId()).isEqualTo(7);
+            verify(query).setMaxResults(3);
+        }
+
+        @Test
+        @DisplayName("Should end the listing on a short page")
+        void shouldEndOnShortPage() {
+            when(query.getResultList()).thenReturn(List.of(user(12)));
+
+            UserPage page = service.listUsers(9, 2, null, null);
+
+            assertThat(page.getUsers()).hasSize(1);
+            assertThat(page.getNextAfterId()).isNull();
+            verify(query).setParameter("afterId", 9);
+        }
+
+        @Test
+        @DisplayName("Should add only the filters that are given")
+        void shouldAddOnlyGivenFilters() {
+            when(query.getResultList()).thenReturn(List.of());
+
+            service.listUsers(0, 2, Role.ADMIN, null);
+
+            verify(entityManager).createQuery(
+                    "SELECT u FROM User u WHERE u.id > :afterId AND u.role = :role ORDER BY u.id", User.class);
+            verify(query).setParameter("role", Role.ADMIN);
+        }
+
+        @Test
+        @DisplayName("Should cap the page size")
+        void shouldCapPageSize() {
+            when(query.getResultList()).thenReturn(List.of());
+
+            service.listUsers(0, 10_000, null, true);
+
+            verify(query).setMaxResults(4);
+            verify(query).setParameter("enabled", true);
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV Tests")
+    class CsvTests {
+
+        @Test
+        @DisplayName("Should quote only fields that need it")
+        void shouldQuoteOnlyWhenNeeded() throws Exception {
+            StringWriter out = new StringWriter();
+            UserAdminService.writeCsvField(out, "plain@example.com");
+            out.write(',');
+            UserAdminService.writeCsvField(out, "O\"Brien, Jr");
+
+            assertThat(out.toString()).isEqualTo("plain@example.com,\"O\"\"Brien, Jr\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("Export Tests")
+    class ExportTests {
+
+        private Connection connection;
+        private PreparedStatement statement;
+
+        @BeforeEach
+        void setUp() throws Exception {
+            connection = mock(Connection.class);
+            statement = mock(PreparedStatement.class);
+            when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                    .thenReturn(statement);
+        }
+
+        @Test
+        @DisplayName("Should stream each cursor row as CSV after the header")
+        void shouldStreamCursorRowsAsCsv() throws Exception {
+            cursorOver(row(4, "ada@example.com"), row(7, "O\"Brien@example.com"));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            service.exportUsers(UserAdminService.ExportFormat.CSV, Role.ADMIN, null, out);
+
+            assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                    "id,firstname,lastname,email,role,enabled,locked,email_verified,created_date",
+                    "4,Test,User,ada@example.com,ADMIN,true,false,false,2024-01-02T03:04:05",
+                    "7,Test,User,\"O\"\"Brien@example.com\",ADMIN,true,false,false,2024-01-02T03:04:05");
+            verify(connection).prepareStatement(
+                    eq("SELECT id, firstname, lastname, email, role, enabled, locked, email_verified, created_date"
+                            + " FROM _user WHERE role = ? ORDER BY id"),
+                    eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY));
+            verify(statement).setFetchSize(1000);
+            verify(statement).setObject(1, "ADMIN");
+        }
+
+        @Test
+        @DisplayName("Should write one JSON object per cursor row")
+        void shouldStreamCursorRowsAsNdjson() throws Exception {
+            cursorOver(row(4, "ada@example.com"));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            service.exportUsers(UserAdminService.ExportFormat.NDJSON, null, true, out);
+
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":4,\"firstname\":\"Test\","
+                    + "\"lastname\":\"User\",\"email\":\"ada@example.com\",\"role\":\"ADMIN\",\"enabled\":true,"
+                    + "\"locked\":false,\"email_verified\":false,\"created_date\":\"2024-01-02T03:04:05\"}\n");
+            verify(statement).setObject(1, true);
+        }
+
+        // Runs the statement creator against the mock connection, then feeds the rows to the callback
+        private void cursorOver(ResultSet... rows) {
+            doAnswer(invocation -> {
+                invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+                RowCallbackHandler handler = invocation.getArgument(1);
+                for (ResultSet row : rows) {
+                    handler.processRow(row);
+                }
+                return null;
+            }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        }
+
+        private ResultSet row(int id, String email) throws Exception {
+            Map<String, Object> values = new HashMap<>();
+            values.put("id", id);
+            values.put("firstname", "Test");
+            values.put("lastname", "User");
+            values.put("email", email);
+            values.put("role", "ADMIN");
+            values.put("enabled", true);
+            values.put("locked", false);
+            values.put("email_verified", false);
+            values.put("created_date", Timestamp.valueOf(LocalDateTime.of(2024, 1, 2, 3, 4, 5)));
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getObject(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+            return resultSet;
+        }
+    }
+
+    private static User user(int id) {
+        return User.builder().id(id).email("user" + id + "@example.com").role(Role.USER).build();
+    }
+}
@@ -0,0 +1,220 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure.Reason;
+import com.imbilalbutt.springauthdev.Config.JwtService;
+import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
+import com.imbilalbutt.springauthdev.Config.UserCacheConfiguration;
+import com.imbilalbutt.springauthdev.Token.RefreshTokenService;
+import com.imbilalbutt.springauthdev.Token.TokenRevocationService;
+import com.imbilalbutt.springauthdev.commons.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+// Every repository call runs in its own transaction and session, so only the second-level cache can spare a query
+@DisplayName("User Second-Level Cache Tests")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:usercache;DB_CLOSE_DELAY=-1",
+        "user.cache.enabled=true"})
+@Import(UserCacheConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheTest {
+
+    private static final String EMAIL = "cached@example.com";
+    private static final String PASSWORD = "correct-horse";
+    private static final PasswordEncoder PASSWORD_ENCODER = new BCryptPasswordEncoder(4);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Statistics statistics;
+    private Integer userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userId = userRepository.save(newUser(EMAIL)).getId();
+        // Warm both regions, whatever the insert already put there
+        userRepository.findByEmail(EMAIL);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    private static User newUser(String email) {
+        return User.builder()
+                .firstname("John")
+                .lastname("Doe")
+                .email(email)
+                .password(PASSWORD_ENCODER.encode(PASSWORD))
+                .role(Role.USER)
+                .enabled(true)
+                .failedLoginAttempts(0)
+                .createdDate(LocalDateTime.now())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Read Tests")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Should answer repeated lookups without touching the database")
+        void shouldServeRepeatedLookupsFromCache() {
+            for (int i = 0; i < 3; i++) {
+                assertThat(userRepository.findByEmail(EMAIL)).isPresent();
+                assertThat(userRepository.existsByEmail(EMAIL)).isTrue();
+                assertThat(userRepository.findById(userId)).isPresent();
+            }
+
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+            assertThat(statistics.getCacheRegionStatistics(User.CACHE_REGION).getHitCount()).isPositive();
+            assertThat(statistics.getCacheRegionStatistics(User.NATURAL_ID_CACHE_REGION).getHitCount()).isPositive();
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should return the updated entity after a save")
+        void shouldSeeEntityUpdates() {
+            User user = userRepository.findByEmail(EMAIL).orElseThrow();
+            user.setFirstname("Jane");
+            userRepository.save(user);
+
+            assertThat(userRepository.findByEmail(EMAIL).orElseThrow().getFirstname()).isEqualTo("Jane");
+        }
+
+        @Test
+        @DisplayName("Should not serve stale entries after a bulk update")
+        void shouldSeeBulkUpdates() {
+            userRepository.lockAccount(userId, 5, LocalDateTime.now().plusMinutes(30));
+
+            User user = userRepository.findById(userId).orElseThrow();
+            assertThat(user.isLocked()).isTrue();
+            assertThat(user.getFailedLoginAttempts()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should keep other users cached after a targeted update")
+        void shouldEvictOnlyTheUpdatedUser() {
+            Integer otherId = userRepository.save(newUser("other@example.com")).getId();
+            userRepository.findByEmail("other@example.com");
+            statistics.clear();
+
+            userRepository.incrementFailedAttempts(userId, LocalDateTime.now());
+            userRepository.lockAccount(userId, 5, LocalDateTime.now().plusMinutes(30));
+            userRepository.resetFailedLoginAttempts(userId, LocalDateTime.now().plusHours(1));
+            long updates = statistics.getPrepareStatementCount();
+
+            assertThat(userRepository.findByEmail("other@example.com")).isPresent();
+            assertThat(userRepository.findById(otherId)).isPresent();
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(updates);
+        }
+
+        @Test
+        @DisplayName("Should follow a change of email")
+        void shouldFollowEmailChange() {
+            User user = userRepository.findByEmail(EMAIL).orElseThrow();
+            user.setEmail("renamed@example.com");
+            userRepository.save(user);
+
+            assertThat(userRepository.findByEmail(EMAIL)).isEmpty();
+            assertThat(userRepository.findByEmail("renamed@example.com")).isPresent();
+        }
+
+        @Test
+        @DisplayName("Should forget a deleted user")
+        void shouldForgetDeletedUser() {
+            userRepository.deleteById(userId);
+
+            assertThat(userRepository.findByEmail(EMAIL)).isEmpty();
+            assertThat(userRepository.findById(userId)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Sign-In Tests")
+    class SignInTests {
+
+        private ApiUserServiceImpl userService;
+
+        @BeforeEach
+        void setUp() {
+            userService = new ApiUserServiceImpl(userRepository, mock(UserRegistrar.class), PASSWORD_ENCODER,
+                    mock(JwtService.class), mock(SecurityAuditLogger.class), mock(RefreshTokenService.class),
+                    mock(TokenRevocationService.class), mock(LoginActivityRecorder.class));
+            ReflectionTestUtils.setField(userService, "maxLoginAttempts", 5);
+            ReflectionTestUtils.setField(userService, "lockoutDurationMinutes", 30);
+        }
+
+        @Test
+        @DisplayName("Should refuse sign-in once a lock is written straight to the database")
+        void shouldRefuseSignInAfterLockInDatabase() {
+            // the cached entity still says unlocked; only the row knows about the lock
+            new JdbcTemplate(dataSource).update("UPDATE _user SET locked = true, account_locked_until = ? WHERE id = ?",
+                    LocalDateTime.now().plusMinutes(30), userId);
+            assertThat(userRepository.findById(userId).orElseThrow().isLocked()).isFalse();
+
+            assertThatThrownBy(() -> userService.authenticate(new AuthenticationRequest(EMAIL, PASSWORD)))
+                    .isInstanceOf(AuthFailure.class)
+                    .extracting("reason")
+                    .isEqualTo(Reason.ACCOUNT_LOCKED);
+        }
+
+        @Test
+        @DisplayName("Should count a failed sign-in without evicting the user's neighbours")
+        void shouldCountFailureAndEvictOnlyThatUser() {
+            Integer otherId = userRepository.save(newUser("other@example.com")).getId();
+            userRepository.findById(otherId);
+
+            assertThatThrownBy(() -> userService.authenticate(new AuthenticationRequest(EMAIL, "wrong")))
+                    .isInstanceOf(AuthFailure.class)
+                    .extracting("reason")
+                    .isEqualTo(Reason.INVALID_CREDENTIALS);
+
+            assertThat(userRepository.findById(userId).orElseThrow().getFailedLoginAttempts()).isEqualTo(1);
+            statistics.clear();
+            assertThat(userRepository.findById(otherId)).isPresent();
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        }
+    }
+}
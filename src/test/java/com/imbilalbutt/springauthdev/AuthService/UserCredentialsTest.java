@@ -0,0 +1,66 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.commons.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserCredentials Unit Tests")
+class UserCredentialsTest {
+
+    @Test
+    @DisplayName("Should expose the same UserDetails view as the User entity")
+    void shouldMatchEntityView() {
+        User user = User.builder()
+                .email("john.doe@example.com")
+                .password("hash")
+                .role(Role.ADMIN)
+                .enabled(true)
+                .locked(true)
+                .build();
+
+        UserCredentials credentials = new UserCredentials(1, "john.doe@example.com", "hash", Role.ADMIN, true, true, null);
+
+        assertThat(credentials.getUsername()).isEqualTo(user.getUsername());
+        assertThat(credentials.getPassword()).isEqualTo(user.getPassword());
+        assertThat(credentials.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyElementsOf(user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertThat(credentials.isEnabled()).isEqualTo(user.isEnabled());
+        assertThat(credentials.isAccountNonLocked()).isEqualTo(user.isAccountNonLocked());
+    }
+
+    @Test
+    @DisplayName("Should share one authority list per role")
+    void shouldShareAuthorities() {
+        UserCredentials first = new UserCredentials(1, "a@example.com", "hash", Role.USER, true, false, null);
+        UserCredentials second = new UserCredentials(2, "b@example.com", "hash", Role.USER, true, false, null);
+
+        assertThat(first.getAuthorities()).isSameAs(second.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should stop treating a lock as active once it has expired")
+    void shouldIgnoreExpiredLock() {
+        LocalDateTime expired = LocalDateTime.now().minusMinutes(1);
+        User user = User.builder().locked(true).accountLockedUntil(expired).build();
+
+        UserCredentials credentials = new UserCredentials(1, "a@example.com", "hash", Role.USER, true, true, expired);
+
+        assertThat(user.isAccountNonLocked()).isTrue();
+        assertThat(user.isLocked()).isTrue();
+        assertThat(credentials.isAccountNonLocked()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep timed locks until they expire and untimed locks indefinitely")
+    void shouldKeepActiveLocks() {
+        LocalDateTime future = LocalDateTime.now().plusMinutes(30);
+
+        assertThat(new UserCredentials(1, "a@example.com", "hash", Role.USER, true, true, future).isAccountNonLocked()).isFalse();
+        assertThat(new UserCredentials(1, "a@example.com", "hash", Role.USER, true, true, null).isAccountNonLocked()).isFalse();
+    }
+}
@@ -0,0 +1,103 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.commons.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("UserImportReader Unit Tests")
+class UserImportReaderTest {
+
+    @Nested
+    @DisplayName("NDJSON Tests")
+    class NdjsonTests {
+
+        @Test
+        @DisplayName("Should read one request per line and skip blank lines")
+        void shouldReadRequests() throws IOException {
+            List<UserImportReader.Row> rows = readAll(UserImportReader.ndjson(new StringReader(
+                    "{\"firstname\":\"John\",\"lastname\":\"Doe\",\"email\":\"john@example.com\",\"password\":\"Password@123\"}\n"
+                            + "\n"
+                            + "{\"firstname\":\"Jane\",\"lastname\":\"Doe\",\"email\":\"jane@example.com\","
+                            + "\"password\":\"Password@123\",\"role\":\"ADMIN\",\"dateOfBirth\":\"1990-05-01\"}\n"),
+                    JsonMapper.builder().build()));
+
+            assertThat(rows).hasSize(2);
+            assertThat(rows.get(0).getRequest().getEmail()).isEqualTo("john@example.com");
+            assertThat(rows.get(1).getLine()).isEqualTo(3);
+            assertThat(rows.get(1).getRequest().getRole()).isEqualTo(Role.ADMIN);
+            assertThat(rows.get(1).getRequest().getDateOfBirth()).isEqualTo(LocalDate.of(1990, 5, 1));
+        }
+
+        @Test
+        @DisplayName("Should report a malformed line and carry on")
+        void shouldReportMalformedLine() throws IOException {
+            List<UserImportReader.Row> rows = readAll(UserImportReader.ndjson(new StringReader(
+                    "{\"email\":\n{\"email\":\"jane@example.com\"}\n"), JsonMapper.builder().build()));
+
+            assertThat(rows.get(0).getError()).startsWith("Malformed JSON");
+            assertThat(rows.get(1).getRequest().getEmail()).isEqualTo("jane@example.com");
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV Tests")
+    class CsvTests {
+
+        @Test
+        @DisplayName("Should map columns by header name, including quoted fields")
+        void shouldMapColumnsByHeader() throws IOException {
+            List<UserImportReader.Row> rows = readAll(UserImportReader.csv(new StringReader(
+                    "email,password,lastname,firstname,role\n"
+                            + "john@example.com,\"Pass,word@1\",\"O\"\"Brien\",John,user\n")));
+
+            RegisterRequest request = rows.get(0).getRequest();
+            assertThat(rows.get(0).getLine()).isEqualTo(2);
+            assertThat(request.getFirstname()).isEqualTo("John");
+            assertThat(request.getLastname()).isEqualTo("O\"Brien");
+            assertThat(request.getPassword()).isEqualTo("Pass,word@1");
+            assertThat(request.getRole()).isEqualTo(Role.USER);
+        }
+
+        @Test
+        @DisplayName("Should report rows with the wrong field count or an unknown role")
+        void shouldReportBadRows() throws IOException {
+            List<UserImportReader.Row> rows = readAll(UserImportReader.csv(new StringReader(
+                    "firstname,lastname,email,password,role\n"
+                            + "John,Doe,john@example.com\n"
+                            + "Jane,Doe,jane@example.com,Password@123,OWNER\n"
+                            + "Jack,Doe,\"jack@example.com,Password@123,USER\n")));
+
+            assertThat(rows).extracting(UserImportReader.Row::getError).allMatch(error -> error != null);
+            assertThat(rows.get(0).getError()).contains("Expected 5 fields");
+            assertThat(rows.get(2).getError()).isEqualTo("Unterminated quoted field");
+        }
+
+        @Test
+        @DisplayName("Should refuse a header without the required columns")
+        void shouldRefuseIncompleteHeader() {
+            assertThatThrownBy(() -> UserImportReader.csv(new StringReader("firstname,lastname,email\n")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("missing password");
+        }
+    }
+
+    private static List<UserImportReader.Row> readAll(UserImportReader reader) throws IOException {
+        List<UserImportReader.Row> rows = new ArrayList<>();
+        UserImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,110 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.commons.Role;
+import org.hibernate.FlushMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernatePersistenceConfiguration;
+import org.hibernate.tool.schema.Action;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request user lookup as the authentication filters do it: the full User entity in a read-write
+ * session (persistence context, snapshot, dirty check at commit), the same in a read-only session,
+ * and the UserCredentials projection. Runs against in-memory H2, so the numbers isolate ORM overhead from
+ * network time; use the GC profiler's gc.alloc.rate.norm for allocation per lookup.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.imbilalbutt.springauthdev.AuthService.UserLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    private static final String EMAIL = "john.doe@example.com";
+
+    static final String ENTITY_QUERY = "SELECT u FROM User u WHERE u.email = :email";
+    // The repository's own query, so the benchmark measures what sign-in runs
+    static final String PROJECTION_QUERY = UserRepository.CREDENTIALS_BY_EMAIL;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new HibernatePersistenceConfiguration("user-lookup")
+                .managedClass(User.class)
+                .jdbcUrl("jdbc:h2:mem:user-lookup;DB_CLOSE_DELAY=-1")
+                .jdbcCredentials("sa", "")
+                .schemaToolingAction(Action.CREATE_DROP)
+                .createEntityManagerFactory();
+        sessionFactory.inTransaction(session -> session.persist(User.builder()
+                .firstname("John")
+                .lastname("Doe")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .email(EMAIL)
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z0v1jTQ6Uu6M5l9G1Z1c5b9G")
+                .enabled(true)
+                .role(Role.USER)
+                .failedLoginAttempts(0)
+                .createdDate(LocalDateTime.now())
+                .build()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public UserDetails entity() {
+        return lookup(ENTITY_QUERY, User.class, false);
+    }
+
+    // What a @Transactional(readOnly = true) repository call does to the entity path: no snapshot, no flush
+    @Benchmark
+    public UserDetails entityReadOnly() {
+        return lookup(ENTITY_QUERY, User.class, true);
+    }
+
+    @Benchmark
+    public UserDetails projection() {
+        return lookup(PROJECTION_QUERY, UserCredentials.class, true);
+    }
+
+    <T extends UserDetails> T lookup(String query, Class<T> type, boolean readOnly) {
+        return sessionFactory.fromTransaction(session -> {
+            session.setDefaultReadOnly(readOnly);
+            if (readOnly) {
+                session.setHibernateFlushMode(FlushMode.MANUAL);
+            }
+            return session.createQuery(query, type).setParameter("email", EMAIL).getSingleResult();
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(UserLookupBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
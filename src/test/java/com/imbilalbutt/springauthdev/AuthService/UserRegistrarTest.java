@@ -0,0 +1,158 @@
+package com.imbilalbutt.springauthdev.AuthService;
+
+import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
+import com.imbilalbutt.springauthdev.Outbox.OutboxPublisher;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+// Registrations must really commit and contend, so the slice's per-test transaction is switched off
+@DisplayName("UserRegistrar Unit Tests")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:registrar;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@Import({UserRegistrar.class, UserRegistrarTest.HashingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRegistrarTest {
+
+    private static final String EMAIL = "race@example.com";
+
+    @Autowired
+    private UserRegistrar registrar;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @TestConfiguration
+    static class HashingConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+
+        // The outbox table is not in the test schema; delivery is covered by OutboxRelayTest
+        @Bean
+        OutboxPublisher outboxPublisher() {
+            return mock(OutboxPublisher.class);
+        }
+
+        @Bean
+        SecurityAuditLogger securityAuditLogger() {
+            return mock(SecurityAuditLogger.class);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should store the hashed password, not the placeholder")
+    void shouldStoreHashedPassword() {
+        registrar.register(request(EMAIL));
+
+        User stored = userRepository.findByEmail(EMAIL).orElseThrow();
+        assertThat(stored.getPassword()).isNotEqualTo(UserRegistrar.PENDING_HASH);
+        assertThat(passwordEncoder.matches("Password@123", stored.getPassword())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should report an existing email as a conflict")
+    void shouldRejectExistingEmail() {
+        registrar.register(request(EMAIL));
+
+        assertThatThrownBy(() -> registrar.register(request(EMAIL)))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessageContaining(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should only treat the email unique constraint as a duplicate registration")
+    void shouldOnlyMapEmailConstraintToConflict() {
+        DataIntegrityViolationException email = new DataIntegrityViolationException("insert failed",
+                new ConstraintViolationException("duplicate", new SQLException(), User.EMAIL_CONSTRAINT));
+        DataIntegrityViolationException other = new DataIntegrityViolationException("insert failed",
+                new ConstraintViolationException("not null", new SQLException(), "_user_role_check"));
+
+        assertThat(UserRegistrar.isDuplicateEmail(email)).isTrue();
+        assertThat(UserRegistrar.isDuplicateEmail(other)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should create exactly one account when many registrations of one email race")
+    void shouldCreateOneAccountUnderContention() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        registrar.register(request(EMAIL));
+                        created.incrementAndGet();
+                    } catch (UserAlreadyExistsException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                // any other exception (a 500 in production) fails the test here
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(created).hasValue(1);
+        assertThat(conflicts).hasValue(threads - 1);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    private static RegisterRequest request(String email) {
+        return RegisterRequest.builder()
+                .firstname("Race")
+                .lastname("Condition")
+                .email(email)
+                .password("Password@123")
+                .build();
+    }
+}
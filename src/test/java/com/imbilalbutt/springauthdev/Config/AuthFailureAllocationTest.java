@@ -0,0 +1,141 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure;
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure.Reason;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("AuthFailure Unit Tests")
+class AuthFailureAllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private Object sink;
+
+    @Nested
+    @DisplayName("Response Tests")
+    class ResponseTests {
+
+        @Test
+        @DisplayName("Should map invalid credentials to a pre-encoded 401 body")
+        void shouldMapInvalidCredentials() {
+            ResponseEntity<byte[]> response = handler.handleAuthFailure(new AuthFailure(Reason.INVALID_CREDENTIALS));
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(new String(response.getBody(), StandardCharsets.UTF_8))
+                    .isEqualTo("{\"code\":\"INVALID_CREDENTIALS\",\"message\":\"Invalid email or password\"}");
+        }
+
+        @Test
+        @DisplayName("Should map a locked account to 423")
+        void shouldMapLockedAccount() {
+            ResponseEntity<byte[]> response = handler.handleAuthFailure(new AuthFailure(Reason.ACCOUNT_LOCKED));
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.LOCKED);
+            assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).contains("\"code\":\"ACCOUNT_LOCKED\"");
+        }
+
+        @Test
+        @DisplayName("Should map a disabled account to 403")
+        void shouldMapDisabledAccount() {
+            ResponseEntity<byte[]> response = handler.handleAuthFailure(new AuthFailure(Reason.ACCOUNT_DISABLED));
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+            assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).contains("\"code\":\"ACCOUNT_DISABLED\"");
+        }
+
+        @Test
+        @DisplayName("Should not capture a stack trace")
+        void shouldNotCaptureStackTrace() {
+            AuthFailure failure = new AuthFailure(Reason.INVALID_CREDENTIALS);
+
+            assertThat(failure.getStackTrace()).isEmpty();
+            assertThat(failure.fillInStackTrace().getStackTrace()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not share state between throws")
+        void shouldNotShareState() {
+            AuthFailure first = new AuthFailure(Reason.INVALID_CREDENTIALS);
+            first.addSuppressed(new IllegalStateException("attached by a caller"));
+
+            assertThat(new AuthFailure(Reason.INVALID_CREDENTIALS).getSuppressed()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Allocation Tests")
+    class AllocationTests {
+
+        @Test
+        @DisplayName("Should allocate far less per failed attempt than a new exception")
+        void shouldAllocateLessThanNewException() {
+            com.sun.management.ThreadMXBean threads = threadMXBean();
+
+            long exceptionBytes = bytesPerOperation(threads, this::throwNewException);
+            long signalBytes = bytesPerOperation(threads, this::throwSignal);
+
+            // the old path pays for a stack trace, an error DTO, a timestamp and response headers
+            assertThat(signalBytes).isLessThan(64);
+            assertThat(signalBytes * 10).isLessThan(exceptionBytes);
+        }
+
+        private void throwNewException() {
+            try {
+                throw new BadCredentialsException("Invalid email or password");
+            } catch (BadCredentialsException e) {
+                sink = legacyResponse(e);
+            }
+        }
+
+        private void throwSignal() {
+            try {
+                throw new AuthFailure(Reason.INVALID_CREDENTIALS);
+            } catch (AuthFailure e) {
+                sink = handler.handleAuthFailure(e);
+            }
+        }
+    }
+
+    private long bytesPerOperation(com.sun.management.ThreadMXBean threads, Runnable operation) {
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+    // What handleBadCredentials builds, minus its per-failure WARN log
+    private static ResponseEntity<GlobalExceptionHandler.ErrorResponse> legacyResponse(BadCredentialsException e) {
+        return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(new GlobalExceptionHandler.ErrorResponse("INVALID_CREDENTIALS", e.getMessage()));
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "per-thread allocation counters are not available on this JVM");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counters are not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
@@ -0,0 +1,69 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure;
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure.Reason;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of signalling and mapping one rejected sign-in; compare gc.alloc.rate.norm between the two.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.imbilalbutt.springauthdev.Config.AuthFailureBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthFailureBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Benchmark
+    public Object newException() {
+        try {
+            throw new BadCredentialsException("Invalid email or password");
+        } catch (BadCredentialsException e) {
+            return legacyResponse(e);
+        }
+    }
+
+    @Benchmark
+    public Object stacklessSignal() {
+        try {
+            throw new AuthFailure(Reason.INVALID_CREDENTIALS);
+        } catch (AuthFailure e) {
+            return handler.handleAuthFailure(e);
+        }
+    }
+
+    // What handleBadCredentials builds, minus its per-failure WARN log
+    private static ResponseEntity<GlobalExceptionHandler.ErrorResponse> legacyResponse(BadCredentialsException e) {
+        return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(new GlobalExceptionHandler.ErrorResponse("INVALID_CREDENTIALS", e.getMessage()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(AuthFailureBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
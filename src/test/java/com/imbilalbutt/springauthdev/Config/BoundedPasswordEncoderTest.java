@@ -0,0 +1,134 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure;
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure.Reason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BoundedPasswordEncoder Unit Tests")
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+    private ExecutorService callers;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.close();
+        }
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+    }
+
+    @Nested
+    @DisplayName("Delegation Tests")
+    class DelegationTests {
+
+        @Test
+        @DisplayName("Should hash and verify through the delegate")
+        void shouldHashAndVerify() {
+            encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 8);
+
+            String hash = encoder.encode("Password@123");
+
+            assertThat(encoder.matches("Password@123", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should rethrow the delegate's runtime exceptions")
+        void shouldRethrowDelegateExceptions() {
+            encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 8);
+
+            assertThatThrownBy(() -> encoder.encode(null)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounding Tests")
+    class BoundingTests {
+
+        @Test
+        @DisplayName("Should never hash on more threads than the pool size")
+        void shouldBoundConcurrency() throws Exception {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            encoder = new BoundedPasswordEncoder(slowEncoder(running, peak, null), 2, 64);
+            callers = Executors.newFixedThreadPool(16);
+
+            Future<?>[] results = new Future<?>[16];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = callers.submit(() -> encoder.matches("password", "hash"));
+            }
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+
+            assertThat(peak.get()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should refuse with SERVICE_BUSY once the queue is full")
+        void shouldRefuseWhenQueueIsFull() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            encoder = new BoundedPasswordEncoder(slowEncoder(new AtomicInteger(), new AtomicInteger(), release), 1, 1);
+            callers = Executors.newFixedThreadPool(2);
+            callers.submit(() -> encoder.matches("password", "hash"));
+            callers.submit(() -> encoder.matches("password", "hash"));
+            awaitQueued(1);
+
+            assertThatThrownBy(() -> encoder.matches("password", "hash")).isInstanceOf(AuthFailure.class)
+                    .extracting("reason").isEqualTo(Reason.HASHING_BUSY);
+            release.countDown();
+        }
+    }
+
+    // Records how many calls overlap; blocks on the latch when one is given
+    private static PasswordEncoder slowEncoder(AtomicInteger running, AtomicInteger peak, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    if (release != null) {
+                        release.await(10, TimeUnit.SECONDS);
+                    } else {
+                        Thread.sleep(50);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                return true;
+            }
+        };
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((encoder.getActiveCount() < 1 || encoder.getQueueSize() < expected) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
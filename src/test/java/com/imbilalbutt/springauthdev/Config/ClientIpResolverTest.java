@@ -0,0 +1,64 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ClientIpResolver Unit Tests")
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver(List.of("10.0.0.0/8", "127.0.0.1"));
+
+    @Nested
+    @DisplayName("Forwarding Header Tests")
+    class ForwardingHeaderTests {
+
+        @Test
+        @DisplayName("Should ignore forwarding headers from an untrusted peer")
+        void shouldIgnoreHeadersFromUntrustedPeer() {
+            MockHttpServletRequest request = request("198.51.100.20");
+            request.addHeader("X-Forwarded-For", "203.0.113.7");
+            request.addHeader("X-Real-IP", "203.0.113.8");
+
+            assertThat(resolver.resolve(request)).isEqualTo("198.51.100.20");
+        }
+
+        @Test
+        @DisplayName("Should take the nearest untrusted hop, not a client-supplied first value")
+        void shouldTakeNearestUntrustedHop() {
+            MockHttpServletRequest request = request("10.0.0.5");
+            request.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.7, 10.0.0.9");
+
+            assertThat(resolver.resolve(request)).isEqualTo("203.0.113.7");
+        }
+
+        @Test
+        @DisplayName("Should fall back to X-Real-IP from a trusted peer")
+        void shouldUseRealIpFromTrustedPeer() {
+            MockHttpServletRequest request = request("127.0.0.1");
+            request.addHeader("X-Real-IP", "203.0.113.7");
+
+            assertThat(resolver.resolve(request)).isEqualTo("203.0.113.7");
+        }
+
+        @Test
+        @DisplayName("Should use the socket address when no proxies are configured")
+        void shouldUseSocketAddressWithoutProxies() {
+            MockHttpServletRequest request = request("10.0.0.5");
+            request.addHeader("X-Forwarded-For", "203.0.113.7");
+
+            assertThat(new ClientIpResolver(List.of()).resolve(request)).isEqualTo("10.0.0.5");
+        }
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
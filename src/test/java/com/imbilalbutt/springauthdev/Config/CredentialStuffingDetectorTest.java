@@ -0,0 +1,165 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import com.imbilalbutt.springauthdev.commons.HeavyHitters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CredentialStuffingDetector Unit Tests")
+class CredentialStuffingDetectorTest {
+
+    private CredentialStuffingDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        // thresholds: 10 failures per IP, 25 per subnet, 5 distinct accounts per IP; 4 tracked IPs
+        detector = new CredentialStuffingDetector(true, 10, 25, 5, 1024, 4, 4, 10);
+    }
+
+    @Nested
+    @DisplayName("Blocking Tests")
+    class BlockingTests {
+
+        @Test
+        @DisplayName("Should block an IP spraying many distinct accounts")
+        void shouldBlockSprayingIp() {
+            for (int i = 0; i < 5; i++) {
+                detector.recordFailure("203.0.113.7", "user" + i + "@example.com");
+            }
+
+            assertThat(detector.isBlocked("203.0.113.7")).isTrue();
+            assertThat(detector.isBlocked("203.0.113.8")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should block an IP after repeated failures on one account")
+        void shouldBlockRepeatedFailures() {
+            for (int i = 0; i < 9; i++) {
+                detector.recordFailure("203.0.113.7", "john@example.com");
+            }
+            assertThat(detector.isBlocked("203.0.113.7")).isFalse();
+
+            detector.recordFailure("203.0.113.7", "john@example.com");
+
+            assertThat(detector.isBlocked("203.0.113.7")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should block a subnet when failures are spread across its addresses")
+        void shouldBlockSubnet() {
+            for (int i = 0; i < 25; i++) {
+                detector.recordFailure("198.51.100." + i, "john@example.com");
+            }
+
+            assertThat(detector.isBlocked("198.51.100.200")).isTrue();
+            assertThat(detector.isBlocked("198.51.101.1")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should treat usernames case-insensitively")
+        void shouldIgnoreUsernameCase() {
+            for (int i = 0; i < 5; i++) {
+                detector.recordFailure("203.0.113.7", i % 2 == 0 ? "JOHN@example.com" : "john@EXAMPLE.com");
+            }
+
+            assertThat(detector.isBlocked("203.0.113.7")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should unblock after decay")
+        void shouldUnblockAfterDecay() {
+            for (int i = 0; i < 10; i++) {
+                detector.recordFailure("203.0.113.7", "john@example.com");
+            }
+            assertThat(detector.isBlocked("203.0.113.7")).isTrue();
+
+            detector.decay();
+
+            assertThat(detector.isBlocked("203.0.113.7")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should keep a spraying IP blocked across decays until it leaves the tracked set")
+        void shouldKeepSprayingIpBlockedWhileTracked() {
+            for (int i = 0; i < 5; i++) {
+                detector.recordFailure("203.0.113.7", "user" + i + "@example.com");
+            }
+
+            // count 5 -> 2 -> 1: still tracked, still flagged
+            detector.decay();
+            detector.decay();
+            assertThat(detector.isBlocked("203.0.113.7")).isTrue();
+
+            detector.decay();
+            assertThat(detector.isBlocked("203.0.113.7")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should drop the spraying flag when the IP is evicted")
+        void shouldForgetEvictedSprayingIp() {
+            for (int i = 0; i < 5; i++) {
+                detector.recordFailure("203.0.113.7", "user" + i + "@example.com");
+            }
+            // heavier IPs push it out of the four tracked slots
+            for (int ip = 1; ip <= 4; ip++) {
+                for (int i = 0; i < 8; i++) {
+                    detector.recordFailure("192.0." + ip + ".1", "john@example.com");
+                }
+            }
+
+            assertThat(detector.getTopOffenders(10)).extracting(HeavyHitters.Entry::getKey).doesNotContain("203.0.113.7");
+            assertThat(detector.isBlocked("203.0.113.7")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should never block unknown addresses or when disabled")
+        void shouldIgnoreUnknownAndDisabled() {
+            CredentialStuffingDetector disabled = new CredentialStuffingDetector(false, 1, 1, 1, 64, 2, 2, 4);
+            disabled.recordFailure("203.0.113.7", "john@example.com");
+            detector.recordFailure("unknown", "john@example.com");
+
+            assertThat(disabled.isBlocked("203.0.113.7")).isFalse();
+            assertThat(detector.isBlocked("unknown")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounded Memory Tests")
+    class BoundedMemoryTests {
+
+        @Test
+        @DisplayName("Should track at most top-k IPs and keep the heaviest")
+        void shouldKeepHeaviestIps() {
+            for (int i = 0; i < 8; i++) {
+                detector.recordFailure("192.0.2.1", "john@example.com");
+            }
+            for (int i = 0; i < 10_000; i++) {
+                detector.recordFailure("10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255), "john@example.com");
+            }
+
+            assertThat(detector.getTopOffenders(10)).hasSizeLessThanOrEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Subnet Tests")
+    class SubnetTests {
+
+        @Test
+        @DisplayName("Should group IPv4 addresses by /24")
+        void shouldGroupIpv4() {
+            assertThat(CredentialStuffingDetector.subnet("203.0.113.7")).isEqualTo("203.0.113.0/24");
+        }
+
+        @Test
+        @DisplayName("Should group full and compressed IPv6 addresses by /64")
+        void shouldGroupIpv6() {
+            assertThat(CredentialStuffingDetector.subnet("2001:db8:1:2:3:4:5:6")).isEqualTo("2001:db8:1:2::/64");
+            assertThat(CredentialStuffingDetector.subnet("2001:db8::1")).isEqualTo("2001:db8:0:0::/64");
+            assertThat(CredentialStuffingDetector.subnet("::1")).isEqualTo("0:0:0:0::/64");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.imbilalbutt.springauthdev.Config;
 
+import com.imbilalbutt.springauthdev.Token.TokenProfile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -106,6 +107,106 @@ class JwtServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Token Id Tests")
+    class TokenIdTests {
+
+        @Test
+        @DisplayName("Should give every token a unique jti")
+        void shouldGiveEveryTokenUniqueJti() {
+            UserDetails userDetails = createTestUserDetails("john@example.com");
+
+            String first = jwtService.extractTokenId(jwtService.generateToken(userDetails));
+            String second = jwtService.extractTokenId(jwtService.generateToken(userDetails));
+
+            assertThat(first).isNotBlank();
+            assertThat(first).isNotEqualTo(second);
+        }
+
+        @Test
+        @DisplayName("Should validate parsed claims against the user")
+        void shouldValidateParsedClaims() {
+            UserDetails userDetails = createTestUserDetails("john@example.com");
+            var claims = jwtService.parseToken(jwtService.generateToken(userDetails));
+
+            assertThat(jwtService.isTokenValid(claims, userDetails)).isTrue();
+            assertThat(jwtService.isTokenValid(claims, createTestUserDetails("jane@example.com"))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Compact Profile Tests")
+    class CompactProfileTests {
+
+        @Test
+        @DisplayName("Should issue shorter tokens that still validate")
+        void shouldIssueShorterTokens() throws Exception {
+            UserDetails userDetails = createTestUserDetails("john@example.com");
+            String standard = jwtService.generateToken(userDetails);
+
+            setField("tokenProfile", TokenProfile.COMPACT);
+            setField("includeIssuedAt", false);
+            String compact = jwtService.generateToken(userDetails);
+
+            assertThat(compact.length()).isLessThan(standard.length() - 30);
+            assertThat(jwtService.isTokenValid(compact, userDetails)).isTrue();
+            assertThat(jwtService.extractTokenId(compact)).hasSize(22);
+        }
+
+        @Test
+        @DisplayName("Should leave out iat and carry no role claim")
+        void shouldLeaveOutIssuedAtAndRoles() throws Exception {
+            setField("tokenProfile", TokenProfile.COMPACT);
+            setField("includeIssuedAt", false);
+
+            var claims = jwtService.parseToken(jwtService.generateToken(createTestUserDetails("john@example.com")));
+
+            assertThat(claims).doesNotContainKey("r");
+            assertThat(claims.getIssuedAt()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should keep iat when configured")
+        void shouldKeepIssuedAtWhenConfigured() throws Exception {
+            setField("tokenProfile", TokenProfile.COMPACT);
+
+            var claims = jwtService.parseToken(jwtService.generateToken(createTestUserDetails("john@example.com")));
+
+            assertThat(claims.getIssuedAt()).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Fast Minting Tests")
+    class FastMintingTests {
+
+        @Test
+        @DisplayName("Should mint the same claims as the jjwt builder")
+        void shouldMatchBuilderClaims() throws Exception {
+            UserDetails userDetails = createTestUserDetails("john@example.com");
+            Map<String, Object> extraClaims = Map.of("scope", "user:read", "level", 2);
+            var fast = jwtService.parseToken(jwtService.generateToken(extraClaims, userDetails));
+
+            setField("fastMinting", false);
+            var built = jwtService.parseToken(jwtService.generateToken(extraClaims, userDetails));
+
+            assertThat(fast.keySet()).isEqualTo(built.keySet());
+            assertThat(fast.getSubject()).isEqualTo(built.getSubject());
+            assertThat(fast.get("scope")).isEqualTo(built.get("scope"));
+            assertThat(fast.get("level")).isEqualTo(built.get("level"));
+        }
+
+        @Test
+        @DisplayName("Should fall back to the builder for structured claims")
+        void shouldFallBackForStructuredClaims() {
+            UserDetails userDetails = createTestUserDetails("john@example.com");
+
+            String token = jwtService.generateToken(Map.of("roles", java.util.List.of("USER")), userDetails);
+
+            assertThat(jwtService.extractClaim(token, claims -> claims.get("roles"))).isEqualTo(java.util.List.of("USER"));
+        }
+    }
+
     @Nested
     @DisplayName("Validate Token Tests")
     class ValidateTokenTests {
@@ -163,6 +264,12 @@ class JwtServiceTest {
         }
     }
 
+    private void setField(String name, Object value) throws Exception {
+        var field = JwtService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtService, value);
+    }
+
     private UserDetails createTestUserDetails(String username) {
         return User.builder()
                 .username(username)
@@ -0,0 +1,120 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource replica;
+    private ResultSet lagResult;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replica = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        lagResult = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaRoutingDataSource.LAG_QUERY)).thenReturn(lagResult);
+        when(lagResult.next()).thenReturn(true);
+        routing = new ReplicaRoutingDataSource(mock(DataSource.class), replica, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Nested
+    @DisplayName("Routing Tests")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should send read-only transactions to a caught-up replica")
+        void shouldRouteReadOnlyToReplica() throws SQLException {
+            when(lagResult.getDouble(1)).thenReturn(200.0);
+            routing.checkReplicaLag();
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.REPLICA);
+        }
+
+        @Test
+        @DisplayName("Should keep writes on the primary")
+        void shouldRouteWritesToPrimary() throws SQLException {
+            when(lagResult.getDouble(1)).thenReturn(0.0);
+            routing.checkReplicaLag();
+
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.PRIMARY);
+        }
+
+        @Test
+        @DisplayName("Should not use the replica before its lag has been measured")
+        void shouldStartOnPrimary() {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.PRIMARY);
+        }
+    }
+
+    @Nested
+    @DisplayName("Lag Check Tests")
+    class LagCheckTests {
+
+        @Test
+        @DisplayName("Should fall back to the primary while the replica lags and return once it catches up")
+        void shouldFallBackWhileLagging() throws SQLException {
+            when(lagResult.getDouble(1)).thenReturn(5000.0, 10.0);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            routing.checkReplicaLag();
+            assertThat(routing.isReplicaUsable()).isFalse();
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.PRIMARY);
+
+            routing.checkReplicaLag();
+            assertThat(routing.isReplicaUsable()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should fall back to the primary when the replica is not receiving WAL")
+        void shouldFallBackWhenDisconnected() throws SQLException {
+            when(lagResult.getDouble(1)).thenReturn(0.0);
+            when(lagResult.wasNull()).thenReturn(false, true);
+            routing.checkReplicaLag();
+            assertThat(routing.isReplicaUsable()).isTrue();
+
+            routing.checkReplicaLag();
+
+            assertThat(routing.isReplicaUsable()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should fall back to the primary when the replica is unreachable")
+        void shouldFallBackWhenUnreachable() throws SQLException {
+            when(lagResult.getDouble(1)).thenReturn(0.0);
+            routing.checkReplicaLag();
+            when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+            routing.checkReplicaLag();
+
+            assertThat(routing.isReplicaUsable()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of minting one access token through the jjwt builder versus the pre-encoded HS256 path.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.imbilalbutt.springauthdev.Config.TokenMintingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenMintingBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final UserDetails user =
+            User.withUsername("john.doe@example.com").password("password").authorities("USER").build();
+    private JwtService builderService;
+    private JwtService fastService;
+
+    @Setup
+    public void setUp() throws Exception {
+        builderService = jwtService(false);
+        fastService = jwtService(true);
+    }
+
+    @Benchmark
+    public String jjwtBuilder() {
+        return builderService.generateToken(user);
+    }
+
+    @Benchmark
+    public String fastPath() {
+        return fastService.generateToken(user);
+    }
+
+    private static JwtService jwtService(boolean fastMinting) throws Exception {
+        JwtService jwtService = new JwtService();
+        setField(jwtService, "secretKey", SECRET);
+        setField(jwtService, "jwtExpiration", 900_000L);
+        setField(jwtService, "fastMinting", fastMinting);
+        return jwtService;
+    }
+
+    private static void setField(JwtService target, String name, Object value) throws Exception {
+        var field = JwtService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TokenMintingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import com.imbilalbutt.springauthdev.Token.TokenProfile;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse cost of standard versus compact access tokens; main also prints the Authorization header
+ * size of each, which is what every API request pays.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.imbilalbutt.springauthdev.Config.TokenProfileBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenProfileBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService standardService;
+    private JwtService compactService;
+    private String standardToken;
+    private String compactToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        standardService = jwtService(TokenProfile.STANDARD);
+        compactService = jwtService(TokenProfile.COMPACT);
+        standardToken = standardService.generateToken(user());
+        compactToken = compactService.generateToken(user());
+    }
+
+    @Benchmark
+    public Claims parseStandard() {
+        return standardService.parseToken(standardToken);
+    }
+
+    @Benchmark
+    public Claims parseCompact() {
+        return compactService.parseToken(compactToken);
+    }
+
+    static JwtService jwtService(TokenProfile profile) throws Exception {
+        JwtService jwtService = new JwtService();
+        setField(jwtService, "secretKey", SECRET);
+        setField(jwtService, "jwtExpiration", 900_000L);
+        setField(jwtService, "tokenProfile", profile);
+        setField(jwtService, "includeIssuedAt", profile == TokenProfile.STANDARD);
+        return jwtService;
+    }
+
+    private static void setField(JwtService target, String name, Object value) throws Exception {
+        var field = JwtService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static UserDetails user() {
+        return User.withUsername("john.doe@example.com").password("password").authorities("USER").build();
+    }
+
+    private static int headerBytes(String token) {
+        return ("Authorization: Bearer " + token + "\r\n").getBytes(StandardCharsets.US_ASCII).length;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int standard = headerBytes(jwtService(TokenProfile.STANDARD).generateToken(user()));
+        int compact = headerBytes(jwtService(TokenProfile.COMPACT).generateToken(user()));
+        System.out.printf("Authorization header: standard %d B, compact %d B, %d B saved per request%n",
+                standard, compact, standard - compact);
+
+        new Runner(new OptionsBuilder()
+                .include(TokenProfileBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.imbilalbutt.springauthdev.Config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load against a running instance, for comparing request handling on platform
+ * threads and on virtual threads at high concurrency. Start the service once per mode with the
+ * per-IP limits out of the way, e.g.
+ *   VIRTUAL_THREADS_ENABLED=true RATE_LIMIT_BURST_CAPACITY=100000000 SECURITY_STUFFING_ENABLED=false docker compose up
+ * then run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.imbilalbutt.springauthdev.Config.VirtualThreadLoadBenchmark
+ *   -Dexec.args="http://localhost:8081 session 2000 30"
+ * Scenarios: session (a Redis round trip per request on /api/v2/session/refresh), validate (a Redis
+ * read on /api/v2/session/validate) and login (JDBC lookup and update plus BCrypt on
+ * /api/v2/session/login). Prefix any of them with reactive- to drive the same endpoint under
+ * /api/v2/reactive/session instead, e.g. validate against reactive-validate at equal concurrency.
+ */
+public class VirtualThreadLoadBenchmark {
+
+    private static final String EMAIL = "load.test@example.com";
+    private static final String PASSWORD = "LoadTest@123";
+    private static final String CREDENTIALS = "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}";
+    private static final Pattern SESSION_TOKEN = Pattern.compile("\"sessionToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int MAX_LATENCY_MS = 10_000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(MAX_LATENCY_MS + 1);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean recording;
+
+    private VirtualThreadLoadBenchmark(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        String scenario = args.length > 1 ? args[1] : "session";
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        VirtualThreadLoadBenchmark benchmark = new VirtualThreadLoadBenchmark(baseUrl);
+        HttpRequest request = benchmark.prepare(scenario);
+        benchmark.run(request, concurrency, Duration.ofSeconds(seconds));
+        benchmark.report(scenario, concurrency, seconds);
+    }
+
+    private HttpRequest prepare(String scenario) throws Exception {
+        // a conflict just means an earlier run already registered the user
+        send(post("/api/v1/auth/register", "{\"firstname\":\"Load\",\"lastname\":\"Test\",\"email\":\"" + EMAIL
+                + "\",\"password\":\"" + PASSWORD + "\"}", null));
+        String sessionPath = "/api/v2/session";
+        if (scenario.startsWith("reactive-")) {
+            sessionPath = "/api/v2/reactive/session";
+            scenario = scenario.substring("reactive-".length());
+        }
+        if ("login".equals(scenario)) {
+            return post(sessionPath + "/login", CREDENTIALS, null);
+        }
+        if (!"session".equals(scenario) && !"validate".equals(scenario)) {
+            throw new IllegalArgumentException("Unknown scenario: " + scenario + " (expected session, validate or login)");
+        }
+        HttpResponse<String> login = send(post(sessionPath + "/login", CREDENTIALS, null));
+        Matcher sessionToken = SESSION_TOKEN.matcher(login.body());
+        if (login.statusCode() != 200 || !sessionToken.find()) {
+            throw new IllegalStateException("Login failed with " + login.statusCode() + ": " + login.body());
+        }
+        if ("validate".equals(scenario)) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + sessionPath + "/validate"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", sessionToken.group(1))
+                    .GET()
+                    .build();
+        }
+        return post(sessionPath + "/refresh", "", sessionToken.group(1));
+    }
+
+    // Keeps exactly `concurrency` requests in flight until the deadline
+    private void run(HttpRequest request, int concurrency, Duration duration) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long recordFrom = System.nanoTime() + WARMUP.toNanos();
+        long deadline = recordFrom + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            recording = System.nanoTime() >= recordFrom;
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (recording) {
+                    if (error != null || response.statusCode() >= 400) {
+                        failed.increment();
+                    } else {
+                        completed.increment();
+                        int millis = (int) Math.min(MAX_LATENCY_MS, (System.nanoTime() - start) / 1_000_000);
+                        latencyHistogram.incrementAndGet(millis);
+                    }
+                }
+                inFlight.release();
+            });
+        }
+        recording = false;
+        inFlight.acquire(concurrency);
+    }
+
+    private void report(String scenario, int concurrency, int seconds) {
+        long ok = completed.sum();
+        System.out.printf("scenario=%s concurrency=%d duration=%ds%n", scenario, concurrency, seconds);
+        System.out.printf("throughput=%.0f req/s completed=%d failed=%d%n", ok / (double) seconds, ok, failed.sum());
+        System.out.printf("latency p50=%d ms p99=%d ms p999=%d ms%n",
+                percentile(ok, 0.50), percentile(ok, 0.99), percentile(ok, 0.999));
+    }
+
+    private int percentile(long total, double fraction) {
+        long target = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int millis = 0; millis <= MAX_LATENCY_MS; millis++) {
+            seen += latencyHistogram.get(millis);
+            if (seen >= target && target > 0) {
+                return millis;
+            }
+        }
+        return MAX_LATENCY_MS;
+    }
+
+    private HttpRequest post(String path, String body, String authorization) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,132 @@
+package com.imbilalbutt.springauthdev.Outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("OutboxRelay Unit Tests")
+class OutboxRelayTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private List<OutboxEvent> handled;
+    private RuntimeException failure;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        handled = new ArrayList<>();
+        failure = null;
+    }
+
+    @Nested
+    @DisplayName("Delivery Tests")
+    class DeliveryTests {
+
+        @Test
+        @DisplayName("Should hand each claimed event to its handler and delete it")
+        void shouldDeliverAndDelete() {
+            claim(event(1, 1), event(2, 1));
+
+            assertThat(relay(10).relayBatch()).isEqualTo(2);
+
+            assertThat(handled).extracting(OutboxEvent::getId).containsExactly(1L, 2L);
+            verify(jdbcTemplate).update(OutboxRelay.DELETE_SQL, 1L);
+            verify(jdbcTemplate).update(OutboxRelay.DELETE_SQL, 2L);
+        }
+
+        @Test
+        @DisplayName("Should reschedule a failed event with backoff")
+        void shouldRescheduleFailure() {
+            failure = new IllegalStateException("smtp down");
+            claim(event(5, 3));
+
+            relay(10).relayBatch();
+
+            verify(jdbcTemplate).update(eq(OutboxRelay.RETRY_SQL), eq(4000L), anyString(), eq(5L));
+            verify(jdbcTemplate, never()).update(OutboxRelay.DELETE_SQL, 5L);
+        }
+
+        @Test
+        @DisplayName("Should park an event that has used all its attempts")
+        void shouldParkAfterMaxAttempts() {
+            failure = new IllegalStateException("still down");
+            claim(event(7, 10));
+
+            relay(10).relayBatch();
+
+            verify(jdbcTemplate).update(eq(OutboxRelay.PARK_SQL), anyString(), eq(7L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        @DisplayName("Should reject two handlers for one event type")
+        void shouldRejectDuplicateHandlers() {
+            assertThatIllegalStateException().isThrownBy(() -> new OutboxRelay(jdbcTemplate,
+                    mock(PlatformTransactionManager.class), new ObjectMapper(), List.of(handler(), handler()), 10, 1000, 10));
+        }
+
+        @Test
+        @DisplayName("Should double the backoff up to five minutes")
+        void shouldCapBackoff() {
+            assertThat(OutboxRelay.backoffMs(1)).isEqualTo(1000);
+            assertThat(OutboxRelay.backoffMs(4)).isEqualTo(8000);
+            assertThat(OutboxRelay.backoffMs(30)).isEqualTo(300_000);
+        }
+    }
+
+    private OutboxRelay relay(int maxAttempts) {
+        return new OutboxRelay(jdbcTemplate, mock(PlatformTransactionManager.class), new ObjectMapper(),
+                List.of(handler()), 100, 60_000, maxAttempts);
+    }
+
+    private OutboxHandler handler() {
+        return new OutboxHandler() {
+            @Override
+            public OutboxEventType type() {
+                return OutboxEventType.USER_REGISTERED;
+            }
+
+            @Override
+            public void handle(OutboxEvent event) {
+                if (failure != null) {
+                    throw failure;
+                }
+                handled.add(event);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private void claim(OutboxEvent... events) {
+        when(jdbcTemplate.query(eq(OutboxRelay.CLAIM_SQL), any(RowMapper.class), anyLong(), any()))
+                .thenReturn(List.of(events));
+    }
+
+    private static OutboxEvent event(long id, int attempts) {
+        return new OutboxEvent(id, OutboxEventType.USER_REGISTERED, "42", Map.of("email", "john@example.com"), attempts);
+    }
+}
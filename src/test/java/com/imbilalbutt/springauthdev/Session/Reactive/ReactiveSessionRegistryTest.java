@@ -0,0 +1,148 @@
+package com.imbilalbutt.springauthdev.Session.Reactive;
+
+import com.imbilalbutt.springauthdev.AuthService.SessionInfo;
+import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
+import com.imbilalbutt.springauthdev.Session.Redis.SessionCodec;
+import com.imbilalbutt.springauthdev.Session.Redis.SessionCreationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReactiveSessionRegistry Unit Tests")
+class ReactiveSessionRegistryTest {
+
+    private static final String EMAIL = "jane@example.com";
+
+    private ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private ReactiveValueOperations<String, byte[]> valueOperations;
+    private SecurityAuditLogger auditLogger;
+    private ReactiveSessionRegistry registry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(ReactiveRedisTemplate.class);
+        valueOperations = mock(ReactiveValueOperations.class);
+        auditLogger = mock(SecurityAuditLogger.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        registry = new ReactiveSessionRegistry(redisTemplate, auditLogger);
+    }
+
+    @Nested
+    @DisplayName("Register Session Tests")
+    class RegisterSessionTests {
+
+        @Test
+        @DisplayName("Should store the session with the shared key prefix and timeout")
+        void shouldStoreSession() {
+            when(valueOperations.set(startsWith("session:"), any(byte[].class), eq(Duration.ofHours(24))))
+                    .thenReturn(Mono.just(true));
+
+            String sessionId = registry.registerSession(EMAIL).block();
+
+            assertThat(sessionId).isNotBlank();
+            verify(auditLogger).logSessionCreated(EMAIL, sessionId);
+        }
+
+        @Test
+        @DisplayName("Should signal SessionCreationException when Redis fails")
+        void shouldFailWhenRedisFails() {
+            when(valueOperations.set(anyString(), any(byte[].class), any(Duration.class)))
+                    .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+
+            assertThatThrownBy(() -> registry.registerSession(EMAIL).block())
+                    .isInstanceOf(SessionCreationException.class);
+            verify(auditLogger, never()).logSessionCreated(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should reject a blank username without touching Redis")
+        void shouldRejectBlankUsername() {
+            assertThatThrownBy(() -> registry.registerSession(" ").block())
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(redisTemplate, never()).opsForValue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should decode the stored session")
+        void shouldDecodeSession() {
+            LocalDateTime createdAt = LocalDateTime.of(2026, 4, 24, 19, 0);
+            when(valueOperations.get("session:abc")).thenReturn(Mono.just(SessionCodec.encode(EMAIL, createdAt)));
+
+            SessionInfo sessionInfo = registry.getSessionInfo("abc").block();
+
+            assertThat(sessionInfo.getUsername()).isEqualTo(EMAIL);
+            assertThat(sessionInfo.getCreatedAt()).isEqualTo(createdAt);
+        }
+
+        @Test
+        @DisplayName("Should complete empty for unknown sessions and Redis errors")
+        void shouldCompleteEmpty() {
+            when(valueOperations.get("session:missing")).thenReturn(Mono.empty());
+            when(valueOperations.get("session:broken")).thenReturn(Mono.error(new IllegalStateException("timeout")));
+
+            assertThat(registry.getSessionInfo("missing").block()).isNull();
+            assertThat(registry.getSessionInfo("broken").block()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidate And Refresh Tests")
+    class InvalidateAndRefreshTests {
+
+        @Test
+        @DisplayName("Should delete the session and audit its owner")
+        void shouldInvalidateSession() {
+            when(valueOperations.getAndDelete("session:abc"))
+                    .thenReturn(Mono.just(SessionCodec.encode(EMAIL, LocalDateTime.now())));
+
+            registry.invalidateSession("abc").block();
+
+            verify(auditLogger).logSessionInvalidated(EMAIL, "abc");
+        }
+
+        @Test
+        @DisplayName("Should not audit when the session was already gone")
+        void shouldIgnoreMissingSession() {
+            when(valueOperations.getAndDelete("session:gone")).thenReturn(Mono.empty());
+
+            registry.invalidateSession("gone").block();
+
+            verify(auditLogger, never()).logSessionInvalidated(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should extend the session with a single EXPIRE")
+        void shouldRefreshSession() {
+            when(redisTemplate.expire("session:abc", Duration.ofHours(24))).thenReturn(Mono.just(true));
+
+            registry.refreshSession("abc").block();
+
+            verify(redisTemplate).expire("session:abc", Duration.ofHours(24));
+            verify(redisTemplate, never()).hasKey(anyString());
+        }
+    }
+}
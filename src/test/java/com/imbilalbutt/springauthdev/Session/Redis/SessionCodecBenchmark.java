@@ -0,0 +1,91 @@
+package com.imbilalbutt.springauthdev.Session.Redis;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of one session write and one session read per serializer.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.imbilalbutt.springauthdev.Session.Redis.SessionCodecBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionCodecBenchmark {
+
+    private static final String USERNAME = "john.doe@example.com";
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 4, 24, 19, 44, 11);
+
+    private final GenericToStringSerializer<Object> toStringSerializer = new GenericToStringSerializer<>(Object.class);
+    private final JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+
+    private byte[] codecBytes;
+    private byte[] toStringBytes;
+    private byte[] jdkBytes;
+
+    @Setup
+    public void setUp() {
+        codecBytes = SessionCodec.encode(USERNAME, CREATED_AT);
+        toStringBytes = toStringSerializer.serialize(USERNAME);
+        jdkBytes = jdkSerializer.serialize(new Object[]{USERNAME, CREATED_AT});
+    }
+
+    @Benchmark
+    public byte[] codecEncode() {
+        return SessionCodec.encode(USERNAME, CREATED_AT);
+    }
+
+    @Benchmark
+    public String codecDecodeUsername() {
+        return SessionCodec.decodeUsername(codecBytes);
+    }
+
+    @Benchmark
+    public byte[] toStringEncode() {
+        return toStringSerializer.serialize(USERNAME);
+    }
+
+    @Benchmark
+    public Object toStringDecode() {
+        return toStringSerializer.deserialize(toStringBytes);
+    }
+
+    @Benchmark
+    public byte[] jdkEncode() {
+        return jdkSerializer.serialize(new Object[]{USERNAME, CREATED_AT});
+    }
+
+    @Benchmark
+    public Object jdkDecode() {
+        return jdkSerializer.deserialize(jdkBytes);
+    }
+
+    public static void main(String[] args) throws Exception {
+        SessionCodecBenchmark sizes = new SessionCodecBenchmark();
+        sizes.setUp();
+        System.out.printf("Bytes on the wire per session value: codec=%d toString=%d (no timestamp) jdk=%d%n",
+                sizes.codecBytes.length, sizes.toStringBytes.length, sizes.jdkBytes.length);
+
+        new Runner(new OptionsBuilder()
+                .include(SessionCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.imbilalbutt.springauthdev.Session.Redis;
+
+import com.imbilalbutt.springauthdev.AuthService.SessionInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SessionCodec Unit Tests")
+class SessionCodecTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 4, 24, 19, 44, 11);
+
+    @Nested
+    @DisplayName("Round Trip Tests")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Should decode username and creation time")
+        void shouldDecodeUsernameAndCreationTime() {
+            byte[] encoded = SessionCodec.encode("john@example.com", CREATED_AT);
+
+            SessionInfo session = SessionCodec.decode(encoded);
+
+            assertThat(session.getUsername()).isEqualTo("john@example.com");
+            assertThat(session.getCreatedAt()).isEqualTo(CREATED_AT);
+        }
+
+        @Test
+        @DisplayName("Should decode username without the timestamp")
+        void shouldDecodeUsernameOnly() {
+            byte[] encoded = SessionCodec.encode("jöhn@example.com", CREATED_AT);
+
+            assertThat(SessionCodec.decodeUsername(encoded)).isEqualTo("jöhn@example.com");
+        }
+
+        @Test
+        @DisplayName("Should read legacy plain-string session values")
+        void shouldReadLegacyValues() {
+            byte[] legacy = "john@example.com".getBytes(StandardCharsets.UTF_8);
+
+            assertThat(SessionCodec.decodeUsername(legacy)).isEqualTo("john@example.com");
+            assertThat(SessionCodec.decode(legacy).getCreatedAt()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should return null for missing values")
+        void shouldReturnNullForMissingValues() {
+            assertThat(SessionCodec.decode(null)).isNull();
+            assertThat(SessionCodec.decodeUsername(new byte[0])).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Wire Size Tests")
+    class WireSizeTests {
+
+        @Test
+        @DisplayName("Should add at most six bytes over the raw username")
+        void shouldStayCloseToRawUsername() {
+            byte[] encoded = SessionCodec.encode("john@example.com", CREATED_AT);
+
+            assertThat(encoded.length).isLessThanOrEqualTo("john@example.com".length() + 6);
+        }
+
+        @Test
+        @DisplayName("Should be smaller than JDK serialization of the same session")
+        void shouldBeSmallerThanJdkSerialization() {
+            byte[] encoded = SessionCodec.encode("john@example.com", CREATED_AT);
+            byte[] jdk = new JdkSerializationRedisSerializer()
+                    .serialize(new Object[]{"john@example.com", CREATED_AT});
+
+            assertThat(encoded.length).isLessThan(jdk.length);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HmacTokenMinter Unit Tests")
+class HmacTokenMinterTest {
+
+    private static final Key KEY =
+            Keys.hmacShaKeyFor(Decoders.BASE64.decode("404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970"));
+    private static final long NOW = System.currentTimeMillis() / 1000;
+
+    @Nested
+    @DisplayName("Compatibility Tests")
+    class CompatibilityTests {
+
+        @Test
+        @DisplayName("Should produce tokens the jjwt parser verifies")
+        void shouldVerifyWithJjwt() {
+            Map<String, Object> extraClaims = new LinkedHashMap<>();
+            extraClaims.put("r", 3);
+            extraClaims.put("verified", true);
+
+            String token = new HmacTokenMinter("hs-test", KEY).mint(extraClaims, "john@example.com", "jti-1", NOW, NOW + 900);
+            Jws<Claims> jws = Jwts.parserBuilder().setSigningKey(KEY).build().parseClaimsJws(token);
+
+            assertThat(jws.getHeader().getKeyId()).isEqualTo("hs-test");
+            assertThat(jws.getHeader().getAlgorithm()).isEqualTo("HS256");
+            assertThat(jws.getBody().getSubject()).isEqualTo("john@example.com");
+            assertThat(jws.getBody().getId()).isEqualTo("jti-1");
+            assertThat(jws.getBody().getIssuedAt().getTime()).isEqualTo(NOW * 1000);
+            assertThat(jws.getBody().getExpiration().getTime()).isEqualTo((NOW + 900) * 1000);
+            assertThat(jws.getBody().get("r", Integer.class)).isEqualTo(3);
+            assertThat(jws.getBody().get("verified", Boolean.class)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should sign correctly when many virtual threads share the MAC pool")
+        void shouldSignConcurrently() throws Exception {
+            HmacTokenMinter minter = new HmacTokenMinter("hs-test", KEY);
+            List<Future<String>> tokens = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 500; i++) {
+                    String subject = "user" + i + "@example.com";
+                    tokens.add(executor.submit(() -> minter.mint(Map.of(), subject, "jti", NOW, NOW + 900)));
+                }
+            }
+
+            JwtParser parser = Jwts.parserBuilder().setSigningKey(KEY).build();
+            for (int i = 0; i < tokens.size(); i++) {
+                assertThat(parser.parseClaimsJws(tokens.get(i).get()).getBody().getSubject())
+                        .isEqualTo("user" + i + "@example.com");
+            }
+        }
+
+        @Test
+        @DisplayName("Should escape strings so they round-trip")
+        void shouldEscapeStrings() {
+            String subject = "jo\"hn\\\n\u0001é@example.com";
+
+            String token = new HmacTokenMinter(null, KEY).mint(Map.of(), subject, "jti-1", -1, NOW + 900);
+            Jws<Claims> jws = Jwts.parserBuilder().setSigningKey(KEY).build().parseClaimsJws(token);
+
+            assertThat(jws.getBody().getSubject()).isEqualTo(subject);
+            assertThat(jws.getBody().getIssuedAt()).isNull();
+            assertThat(jws.getHeader().getKeyId()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Supported Claims Tests")
+    class SupportedClaimsTests {
+
+        @Test
+        @DisplayName("Should accept scalar claims only")
+        void shouldAcceptScalarsOnly() {
+            assertThat(HmacTokenMinter.supports(Map.of("scope", "read", "level", 2, "admin", false))).isTrue();
+            assertThat(HmacTokenMinter.supports(Map.of("roles", List.of("USER")))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should leave registered claim names to the builder")
+        void shouldRejectRegisteredNames() {
+            assertThat(HmacTokenMinter.supports(Map.of("sub", "someone-else"))).isFalse();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure;
+import com.imbilalbutt.springauthdev.AuthService.AuthFailure.Reason;
+import com.imbilalbutt.springauthdev.Config.SecurityAuditLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    private StringRedisTemplate redisTemplate;
+    private SecurityAuditLogger auditLogger;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        auditLogger = mock(SecurityAuditLogger.class);
+        service = new RefreshTokenService(redisTemplate, auditLogger, 60_000, 600_000);
+    }
+
+    @Nested
+    @DisplayName("Issue Tests")
+    class IssueTests {
+
+        @Test
+        @DisplayName("Should store only the token hash under the family hash tag")
+        @SuppressWarnings("unchecked")
+        void shouldStoreHashedToken() {
+            String token = service.issue("john@example.com");
+
+            String familyId = RefreshTokenService.familyId(token);
+            assertThat(familyId).isNotNull();
+
+            ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+            verify(redisTemplate).execute(any(RedisScript.class), keys.capture(),
+                    eq("john@example.com"), eq(RefreshTokenService.hash(token)), eq("60000"), eq("600000"));
+            assertThat(keys.getValue()).containsExactly(
+                    RefreshTokenService.tokenKey(familyId, RefreshTokenService.hash(token)),
+                    RefreshTokenService.familyKey(familyId));
+            assertThat(String.join(" ", keys.getValue())).doesNotContain(token.substring(familyId.length() + 1));
+        }
+
+        @Test
+        @DisplayName("Should index the family under its user for the absolute lifetime")
+        void shouldIndexFamilyByUser() {
+            String token = service.issue("John@Example.com");
+
+            verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("refresh:user:john@example.com")),
+                    eq(RefreshTokenService.familyId(token)), eq("600000"));
+        }
+
+        @Test
+        @DisplayName("Should issue unique tokens")
+        void shouldIssueUniqueTokens() {
+            assertThat(service.issue("john@example.com")).isNotEqualTo(service.issue("john@example.com"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Revoke All Tests")
+    class RevokeAllTests {
+
+        @Test
+        @DisplayName("Should delete every indexed family of the user")
+        @SuppressWarnings("unchecked")
+        void shouldDeleteIndexedFamilies() {
+            SetOperations<String, String> setOperations = mock(SetOperations.class);
+            doReturn(setOperations).when(redisTemplate).opsForSet();
+            doReturn(Set.of("familyAAAAAAAAAA", "familyBBBBBBBBBB")).when(setOperations).members("refresh:user:john@example.com");
+            doReturn(2L).when(redisTemplate).delete(anyCollection());
+
+            assertThat(service.revokeAll("john@example.com")).isEqualTo(2);
+
+            ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+            verify(redisTemplate).delete(keys.capture());
+            assertThat(keys.getValue()).containsExactlyInAnyOrder(
+                    RefreshTokenService.familyKey("familyAAAAAAAAAA"), RefreshTokenService.familyKey("familyBBBBBBBBBB"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Rotate Tests")
+    class RotateTests {
+
+        @Test
+        @DisplayName("Should return a new token in the same family")
+        void shouldRotateWithinFamily() {
+            String token = service.issue("john@example.com");
+            doReturn(List.of("OK", "john@example.com"))
+                    .when(redisTemplate).execute(any(RedisScript.class), anyList(), any(Object[].class));
+
+            RefreshTokenService.RotatedToken rotated = service.rotate(token);
+
+            assertThat(rotated.getUsername()).isEqualTo("john@example.com");
+            assertThat(rotated.getRefreshToken()).isNotEqualTo(token);
+            assertThat(RefreshTokenService.familyId(rotated.getRefreshToken()))
+                    .isEqualTo(RefreshTokenService.familyId(token));
+        }
+
+        @Test
+        @DisplayName("Should reject and audit a reused token")
+        void shouldRejectReusedToken() {
+            String token = service.issue("john@example.com");
+            doReturn(List.of("REUSED", "john@example.com"))
+                    .when(redisTemplate).execute(any(RedisScript.class), anyList(), any(Object[].class));
+
+            assertThatThrownBy(() -> service.rotate(token)).isInstanceOf(AuthFailure.class)
+                    .extracting("reason").isEqualTo(Reason.INVALID_REFRESH_TOKEN);
+            verify(auditLogger).logSuspiciousActivity(anyString(), eq("john@example.com"));
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown token")
+        void shouldRejectUnknownToken() {
+            String token = service.issue("john@example.com");
+            doReturn(List.of("INVALID"))
+                    .when(redisTemplate).execute(any(RedisScript.class), anyList(), any(Object[].class));
+
+            assertThatThrownBy(() -> service.rotate(token)).isInstanceOf(AuthFailure.class)
+                    .extracting("reason").isEqualTo(Reason.INVALID_REFRESH_TOKEN);
+        }
+
+        @Test
+        @DisplayName("Should reject malformed tokens without calling Redis")
+        void shouldRejectMalformedTokens() {
+            assertThatThrownBy(() -> service.rotate("not-a-token")).isInstanceOf(AuthFailure.class)
+                    .extracting("reason").isEqualTo(Reason.INVALID_REFRESH_TOKEN);
+            assertThatThrownBy(() -> service.rotate(null)).isInstanceOf(AuthFailure.class)
+                    .extracting("reason").isEqualTo(Reason.INVALID_REFRESH_TOKEN);
+
+            verifyNoInteractions(redisTemplate);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import com.imbilalbutt.springauthdev.Config.JwtService;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SigningKeyRegistry Unit Tests")
+class SigningKeyRegistryTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @TempDir
+    Path directory;
+
+    @Nested
+    @DisplayName("Key Loading Tests")
+    class KeyLoadingTests {
+
+        @Test
+        @DisplayName("Should sign with the shared secret and publish nothing for HS256")
+        void shouldKeepHmacPrivate() throws Exception {
+            SigningKeyRegistry registry = new SigningKeyRegistry("HS256", SECRET, "", "", new String[0], new String[0], "", 900_000L, true);
+
+            assertThat(registry.getActiveKey().getAlgorithm()).isEqualTo(SignatureAlgorithm.HS256);
+            assertThat(new String(registry.getJwks(), StandardCharsets.UTF_8)).isEqualTo("{\"keys\":[]}");
+        }
+
+        @Test
+        @DisplayName("Should publish the RSA key and overlap keys with thumbprint kids")
+        void shouldPublishRsaAndOverlapKeys() throws Exception {
+            KeyPair rsa = generate("RSA");
+            KeyPair previous = generate("EC");
+            SigningKeyRegistry registry = new SigningKeyRegistry("RS256", SECRET,
+                    writePem("rsa.pem", "PRIVATE KEY", rsa.getPrivate().getEncoded()), "",
+                    new String[]{writePem("previous.pub", "PUBLIC KEY", previous.getPublic().getEncoded())},
+                    new String[0], "", 900_000L, true);
+
+            String jwks = new String(registry.getJwks(), StandardCharsets.UTF_8);
+
+            assertThat(registry.getActiveKey().getAlgorithm()).isEqualTo(SignatureAlgorithm.RS256);
+            assertThat(jwks).contains("\"kid\":\"" + registry.getActiveKey().getKid() + "\"")
+                    .contains("\"kty\":\"RSA\"", "\"alg\":\"RS256\"", "\"e\":\"AQAB\"")
+                    .contains("\"kty\":\"EC\"", "\"crv\":\"P-256\"")
+                    .doesNotContain("\"d\"");
+            assertThat(registry.getActiveKey().getKid()).hasSize(43);
+            assertThat(registry.getJwksETag()).startsWith("\"").endsWith("\"");
+        }
+
+        @Test
+        @DisplayName("Should derive the same kid for the same key")
+        void shouldDeriveStableKid() throws Exception {
+            KeyPair ec = generate("EC");
+            String privatePem = writePem("ec.pem", "PRIVATE KEY", ec.getPrivate().getEncoded());
+            String publicPem = writePem("ec.pub", "PUBLIC KEY", ec.getPublic().getEncoded());
+
+            SigningKeyRegistry first = new SigningKeyRegistry("ES256", SECRET, privatePem, publicPem, new String[0], new String[0], "", 900_000L, true);
+            SigningKeyRegistry second = new SigningKeyRegistry("ES256", SECRET, privatePem, publicPem, new String[0], new String[0], "", 900_000L, true);
+
+            assertThat(first.getActiveKey().getKid()).isEqualTo(second.getActiveKey().getKid());
+            assertThat(first.getJwksETag()).isEqualTo(second.getJwksETag());
+        }
+
+        @Test
+        @DisplayName("Should reject unsupported algorithms")
+        void shouldRejectUnsupportedAlgorithms() {
+            assertThatThrownBy(() -> new SigningKeyRegistry("PS512", SECRET, "", "", new String[0], new String[0], "", 900_000L, true))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Token Tests")
+    class TokenTests {
+
+        @Test
+        @DisplayName("Should sign with a kid header and verify through the registry")
+        void shouldRoundTripWithKid() throws Exception {
+            SigningKeyRegistry registry = new SigningKeyRegistry("ES256", SECRET, "", "", new String[0], new String[0], "", 900_000L, true);
+            JwtService jwtService = jwtService(registry);
+
+            String token = jwtService.generateToken(user());
+
+            String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+            assertThat(header).contains("\"kid\":\"" + registry.getActiveKey().getKid() + "\"").contains("ES256");
+            assertThat(jwtService.extractUsername(token)).isEqualTo("john@example.com");
+        }
+
+        @Test
+        @DisplayName("Should still accept tokens issued before kid headers")
+        void shouldAcceptLegacyTokens() throws Exception {
+            String legacyToken = jwtService(null).generateToken(user());
+
+            JwtService jwtService = jwtService(new SigningKeyRegistry("RS256", SECRET, "", "", new String[0], new String[0], "", 900_000L, true));
+
+            assertThat(jwtService.extractUsername(legacyToken)).isEqualTo("john@example.com");
+        }
+
+        @Test
+        @DisplayName("Should reject tokens without a kid once legacy HS256 is turned off")
+        void shouldRejectLegacyTokensWhenDisabled() throws Exception {
+            String legacyToken = jwtService(null).generateToken(user());
+
+            SigningKeyRegistry registry = new SigningKeyRegistry("RS256", SECRET, "", "", new String[0], new String[0], "", 900_000L, false);
+
+            assertThatThrownBy(() -> jwtService(registry).extractUsername(legacyToken))
+                    .isInstanceOf(SignatureException.class);
+        }
+
+        @Test
+        @DisplayName("Should reject a token whose algorithm does not match its kid")
+        void shouldRejectAlgorithmConfusion() throws Exception {
+            SigningKeyRegistry registry = new SigningKeyRegistry("ES256", SECRET, "", "", new String[0], new String[0], "", 900_000L, true);
+            String forged = Jwts.builder()
+                    .setSubject("john@example.com")
+                    .setHeaderParam(JwsHeader.KEY_ID, registry.getActiveKey().getKid())
+                    .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                    .compact();
+
+            assertThatThrownBy(() -> jwtService(registry).extractUsername(forged))
+                    .isInstanceOf(SignatureException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rotation Tests")
+    class RotationTests {
+
+        private static final String NEXT_SECRET = "6A576E5A7234753778214125442A472D4B6150645367566B5970337336763979";
+
+        @Test
+        @DisplayName("Should sign with the active key from the key file and verify the others")
+        void shouldUseActiveKeyFromKeyFile() throws Exception {
+            String keyFile = writeKeyFile(0, "active=2026-10", "hmac.2026-10=" + NEXT_SECRET, "hmac.2026-07=" + SECRET);
+            SigningKeyRegistry registry = hmacRegistry(keyFile, 900_000L);
+            JwtService jwtService = jwtService(registry);
+
+            assertThat(registry.getActiveKey().getKid()).isEqualTo("2026-10");
+            assertThat(jwtService.extractUsername(jwtService.generateToken(user()))).isEqualTo("john@example.com");
+            assertThat(jwtService.extractUsername(hmacToken("2026-07", SECRET))).isEqualTo("john@example.com");
+        }
+
+        @Test
+        @DisplayName("Should pick up a changed key file and keep verifying the retired key")
+        void shouldReloadAndRetainRetiredKey() throws Exception {
+            String keyFile = writeKeyFile(0, "active=old", "hmac.old=" + SECRET);
+            SigningKeyRegistry registry = hmacRegistry(keyFile, 900_000L);
+            String oldToken = jwtService(registry).generateToken(user());
+
+            writeKeyFile(1, "active=new", "hmac.new=" + NEXT_SECRET);
+            registry.reload();
+
+            assertThat(registry.getActiveKey().getKid()).isEqualTo("new");
+            assertThat(jwtService(registry).extractUsername(oldToken)).isEqualTo("john@example.com");
+        }
+
+        @Test
+        @DisplayName("Should sign with a new secret published under the same kid")
+        void shouldFollowSecretChangeUnderSameKid() throws Exception {
+            String keyFile = writeKeyFile(0, "active=main", "hmac.main=" + SECRET);
+            SigningKeyRegistry registry = hmacRegistry(keyFile, 900_000L);
+            JwtService jwtService = jwtService(registry);
+            jwtService.generateToken(user());
+
+            writeKeyFile(1, "active=main", "hmac.main=" + NEXT_SECRET);
+            registry.reload();
+            String token = jwtService.generateToken(user());
+
+            assertThat(jwtService.extractUsername(token)).isEqualTo("john@example.com");
+        }
+
+        @Test
+        @DisplayName("Should stop verifying a retired key after the token lifetime")
+        void shouldDropRetiredKeyAfterLifetime() throws Exception {
+            String keyFile = writeKeyFile(0, "active=old", "hmac.old=" + SECRET);
+            SigningKeyRegistry registry = hmacRegistry(keyFile, 0L);
+            String oldToken = jwtService(registry).generateToken(user());
+
+            writeKeyFile(1, "active=new", "hmac.new=" + NEXT_SECRET);
+            registry.reload();
+
+            assertThatThrownBy(() -> jwtService(registry).extractUsername(oldToken))
+                    .isInstanceOf(SignatureException.class);
+        }
+
+        @Test
+        @DisplayName("Should keep the current keys when the key file is broken")
+        void shouldKeepKeysOnBrokenFile() throws Exception {
+            String keyFile = writeKeyFile(0, "active=old", "hmac.old=" + SECRET);
+            SigningKeyRegistry registry = hmacRegistry(keyFile, 900_000L);
+
+            writeKeyFile(1, "active=missing", "hmac.old=" + SECRET);
+            registry.reload();
+
+            assertThat(registry.getActiveKey().getKid()).isEqualTo("old");
+        }
+
+        @Test
+        @DisplayName("Should verify tokens signed with a previous shared secret")
+        void shouldVerifyPreviousSecret() throws Exception {
+            SigningKeyRegistry before = new SigningKeyRegistry("HS256", SECRET, "", "", new String[0], new String[0], "", 900_000L, true);
+            String oldToken = jwtService(before).generateToken(user());
+
+            SigningKeyRegistry after = new SigningKeyRegistry("HS256", NEXT_SECRET, "", "", new String[0],
+                    new String[]{SECRET}, "", 900_000L, true);
+
+            assertThat(after.getActiveKey().getKid()).isNotEqualTo(before.getActiveKey().getKid());
+            assertThat(jwtService(after).extractUsername(oldToken)).isEqualTo("john@example.com");
+        }
+
+        private SigningKeyRegistry hmacRegistry(String keyFile, long lifetimeMillis) throws Exception {
+            return new SigningKeyRegistry("HS256", SECRET, "", "", new String[0], new String[0], keyFile, lifetimeMillis, true);
+        }
+
+        // Distinct modification times, since two writes can land in the same filesystem tick
+        private String writeKeyFile(int version, String... lines) throws Exception {
+            Path file = directory.resolve("jwt-keys.properties");
+            Files.writeString(file, String.join("\n", lines) + "\n");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(1_700_000_000_000L + version * 1000L));
+            return file.toString();
+        }
+
+        private String hmacToken(String kid, String secret) {
+            return Jwts.builder()
+                    .setSubject("john@example.com")
+                    .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                    .setHeaderParam(JwsHeader.KEY_ID, kid)
+                    .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), SignatureAlgorithm.HS256)
+                    .compact();
+        }
+    }
+
+    private JwtService jwtService(SigningKeyRegistry registry) throws Exception {
+        JwtService jwtService = new JwtService();
+        setField(jwtService, "secretKey", SECRET);
+        setField(jwtService, "jwtExpiration", 900_000L);
+        setField(jwtService, "signingKeyRegistry", registry);
+        return jwtService;
+    }
+
+    private static void setField(JwtService target, String name, Object value) throws Exception {
+        var field = JwtService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static UserDetails user() {
+        return User.withUsername("john@example.com").password("password").authorities("USER").build();
+    }
+
+    private static KeyPair generate(String algorithm) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        if ("EC".equals(algorithm)) {
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        } else {
+            generator.initialize(2048);
+        }
+        return generator.generateKeyPair();
+    }
+
+    private String writePem(String name, String type, byte[] der) throws Exception {
+        String pem = "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+        Path file = directory.resolve(name);
+        Files.writeString(file, pem);
+        return file.toString();
+    }
+}
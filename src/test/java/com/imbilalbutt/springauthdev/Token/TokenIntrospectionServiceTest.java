@@ -0,0 +1,146 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import com.imbilalbutt.springauthdev.Config.JwtService;
+import com.imbilalbutt.springauthdev.Session.Redis.SessionRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TokenIntrospectionService Unit Tests")
+class TokenIntrospectionServiceTest {
+
+    private static final String JWT = "header.payload.signature";
+    private static final long EXPIRES_AT = 1_900_000_000L;
+
+    private JwtService jwtService;
+    private SessionRegistry sessionRegistry;
+    private TokenRevocationService revocationService;
+    private TokenIntrospectionService service;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtService.class);
+        sessionRegistry = mock(SessionRegistry.class);
+        revocationService = mock(TokenRevocationService.class);
+        service = new TokenIntrospectionService(jwtService, sessionRegistry, revocationService, "gateway-key", 500);
+    }
+
+    @Nested
+    @DisplayName("Introspection Tests")
+    class IntrospectionTests {
+
+        @Test
+        @DisplayName("Should report active tokens and sessions in input order")
+        void shouldReportInInputOrder() {
+            Claims claims = claims("jti-1");
+            when(jwtService.parseToken(JWT)).thenReturn(claims);
+            when(sessionRegistry.getUsernamesForSessions(List.of("session-a", "session-b")))
+                    .thenReturn(Arrays.asList("jane@example.com", null));
+
+            List<Object[]> results = service.introspect(List.of("session-a", JWT, "session-b"));
+
+            assertThat(results.get(0)).containsExactly(1, "jane@example.com");
+            assertThat(results.get(1)).containsExactly(1, "john@example.com", EXPIRES_AT);
+            assertThat(results.get(2)).containsExactly(0);
+        }
+
+        @Test
+        @DisplayName("Should resolve all sessions with a single registry call")
+        void shouldResolveSessionsInOneCall() {
+            when(sessionRegistry.getUsernamesForSessions(anyList())).thenReturn(Arrays.asList(null, null, null));
+
+            service.introspect(List.of("s1", "s2", "s3"));
+
+            verify(sessionRegistry, times(1)).getUsernamesForSessions(List.of("s1", "s2", "s3"));
+        }
+
+        @Test
+        @DisplayName("Should report revoked and expired tokens as inactive")
+        void shouldReportRevokedAndExpiredAsInactive() {
+            Claims claims = claims("jti-1");
+            when(jwtService.parseToken(JWT)).thenReturn(claims);
+            when(revocationService.isRevoked("jti-1")).thenReturn(true);
+            when(jwtService.parseToken("expired.payload.signature"))
+                    .thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+            List<Object[]> results = service.introspect(List.of(JWT, "expired.payload.signature"));
+
+            assertThat(results).allSatisfy(result -> assertThat(result).containsExactly(0));
+            verify(sessionRegistry, never()).getUsernamesForSessions(anyList());
+        }
+
+        @Test
+        @DisplayName("Should verify large batches of tokens")
+        void shouldVerifyLargeBatches() {
+            Claims claims = claims("jti-1");
+            when(jwtService.parseToken(anyString())).thenReturn(claims);
+            List<String> tokens = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                tokens.add("header.payload" + i + ".signature");
+            }
+
+            List<Object[]> results = service.introspect(tokens);
+
+            assertThat(results).hasSize(200).allSatisfy(result -> assertThat(result[0]).isEqualTo(1));
+        }
+
+        @Test
+        @DisplayName("Should reject batches above the limit")
+        void shouldRejectOversizedBatches() {
+            List<String> tokens = new ArrayList<>();
+            for (int i = 0; i < 501; i++) {
+                tokens.add("session-" + i);
+            }
+
+            assertThatThrownBy(() -> service.introspect(tokens)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Authorization Tests")
+    class AuthorizationTests {
+
+        @Test
+        @DisplayName("Should accept only the configured key")
+        void shouldAcceptConfiguredKey() {
+            assertThat(service.isAuthorized("gateway-key")).isTrue();
+            assertThat(service.isAuthorized("other-key")).isFalse();
+            assertThat(service.isAuthorized(null)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should stay disabled when no key is configured")
+        void shouldStayDisabledWithoutKey() {
+            TokenIntrospectionService disabled =
+                    new TokenIntrospectionService(jwtService, sessionRegistry, revocationService, "", 500);
+
+            assertThat(disabled.isAuthorized("")).isFalse();
+        }
+    }
+
+    private static Claims claims(String jti) {
+        Claims claims = mock(Claims.class);
+        when(claims.getId()).thenReturn(jti);
+        when(claims.getSubject()).thenReturn("john@example.com");
+        when(claims.getExpiration()).thenReturn(new Date(EXPIRES_AT * 1000));
+        return claims;
+    }
+}
@@ -0,0 +1,129 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TokenRevocationService Unit Tests")
+class TokenRevocationServiceTest {
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        service = new TokenRevocationService(redisTemplate, mock(RedisMessageListenerContainer.class), 1000, 0.001);
+    }
+
+    @Nested
+    @DisplayName("Revoke Tests")
+    class RevokeTests {
+
+        @Test
+        @DisplayName("Should store the id until the token expires and broadcast it")
+        void shouldStoreAndBroadcast() {
+            service.revoke("jti-1", Instant.now().plusSeconds(600));
+
+            verify(valueOperations).set(eq("revoked:jti-1"), eq("1"), any(Duration.class));
+            verify(redisTemplate).convertAndSend("token-revocations", "jti-1");
+        }
+
+        @Test
+        @DisplayName("Should skip tokens that have already expired")
+        void shouldSkipExpiredTokens() {
+            service.revoke("jti-1", Instant.now().minusSeconds(1));
+
+            verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Check Tests")
+    class CheckTests {
+
+        @Test
+        @DisplayName("Should clear unknown tokens without calling Redis")
+        void shouldClearUnknownTokensLocally() {
+            assertThat(service.isRevoked("jti-unknown")).isFalse();
+
+            verify(redisTemplate, never()).hasKey(anyString());
+        }
+
+        @Test
+        @DisplayName("Should confirm Bloom hits in Redis")
+        void shouldConfirmBloomHits() {
+            service.revoke("jti-1", Instant.now().plusSeconds(600));
+            when(redisTemplate.hasKey("revoked:jti-1")).thenReturn(true);
+
+            assertThat(service.isRevoked("jti-1")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should learn revocations from other nodes")
+        void shouldLearnFromPubSub() {
+            service.onMessage(new DefaultMessage("token-revocations".getBytes(StandardCharsets.UTF_8),
+                    "jti-2".getBytes(StandardCharsets.UTF_8)), null);
+            when(redisTemplate.hasKey("revoked:jti-2")).thenReturn(true);
+
+            assertThat(service.isRevoked("jti-2")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should fail closed when Redis cannot confirm a Bloom hit")
+        void shouldFailClosed() {
+            service.revoke("jti-1", Instant.now().plusSeconds(600));
+            when(redisTemplate.hasKey("revoked:jti-1")).thenThrow(new RedisConnectionFailureException("down"));
+
+            assertThat(service.isRevoked("jti-1")).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rebuild Tests")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("Should rebuild the filter from Redis and forget expired ids")
+        @SuppressWarnings("unchecked")
+        void shouldRebuildFromRedis() {
+            service.revoke("jti-expired", Instant.now().plusSeconds(600));
+            Cursor<String> cursor = mock(Cursor.class);
+            when(cursor.hasNext()).thenReturn(true, false);
+            when(cursor.next()).thenReturn("revoked:jti-live");
+            when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+            when(redisTemplate.hasKey(anyString())).thenReturn(true);
+
+            service.rebuild();
+
+            assertThat(service.isRevoked("jti-live")).isTrue();
+            assertThat(service.isRevoked("jti-expired")).isFalse();
+            verify(redisTemplate, never()).hasKey("revoked:jti-expired");
+        }
+    }
+}
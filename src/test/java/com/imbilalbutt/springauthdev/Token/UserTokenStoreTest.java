@@ -0,0 +1,91 @@
+package com.imbilalbutt.springauthdev.Token;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("UserTokenStore Unit Tests")
+class UserTokenStoreTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private UserTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        store = new UserTokenStore(jdbcTemplate, 2);
+    }
+
+    @Nested
+    @DisplayName("Issue Tests")
+    class IssueTests {
+
+        @Test
+        @DisplayName("Should store the SHA-256 of the token, never the token")
+        void shouldStoreHashOnly() {
+            ArgumentCaptor<Object> hash = ArgumentCaptor.forClass(Object.class);
+            when(jdbcTemplate.update(eq(UserTokenStore.ISSUE_SQL), hash.capture(), any(), any(), any())).thenReturn(1);
+
+            String token = store.issue(7, UserTokenPurpose.PASSWORD_RESET, Duration.ofMinutes(30));
+
+            assertThat(token).hasSize(43);
+            assertThat((byte[]) hash.getValue()).hasSize(32).isEqualTo(UserTokenStore.hash(token));
+            verify(jdbcTemplate).update(UserTokenStore.ISSUE_SQL, hash.getValue(), "PASSWORD_RESET", 7, 1_800_000L);
+        }
+
+        @Test
+        @DisplayName("Should return nothing when a token is already outstanding")
+        void shouldNotReplaceOutstandingToken() {
+            when(jdbcTemplate.update(eq(UserTokenStore.ISSUE_IF_ABSENT_SQL), any(), any(), any(), any())).thenReturn(0);
+
+            assertThat(store.issueIfAbsent(7, UserTokenPurpose.EMAIL_VERIFICATION, Duration.ofDays(7))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Consume Tests")
+    class ConsumeTests {
+
+        @Test
+        @DisplayName("Should look the token up by its hash")
+        void shouldConsumeByHash() {
+            byte[] hash = UserTokenStore.hash("presented");
+            when(jdbcTemplate.queryForList(eq(UserTokenStore.CONSUME_SQL), eq(Integer.class), any(byte[].class), anyString()))
+                    .thenAnswer(invocation -> Arrays.equals(hash, invocation.<byte[]>getArgument(2)) ? List.of(7) : List.of());
+
+            assertThat(store.consume("presented", UserTokenPurpose.EMAIL_VERIFICATION)).contains(7);
+            assertThat(store.consume("other", UserTokenPurpose.EMAIL_VERIFICATION)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Sweep Tests")
+    class SweepTests {
+
+        @Test
+        @DisplayName("Should keep deleting while batches come back full")
+        void shouldSweepInBatches() {
+            when(jdbcTemplate.update(UserTokenStore.SWEEP_SQL, 2)).thenReturn(2, 2, 1);
+
+            store.sweepExpired();
+
+            verify(jdbcTemplate, times(3)).update(UserTokenStore.SWEEP_SQL, 2);
+        }
+    }
+}
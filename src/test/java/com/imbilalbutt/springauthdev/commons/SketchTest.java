@@ -0,0 +1,153 @@
+package com.imbilalbutt.springauthdev.commons;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Sketch Unit Tests")
+class SketchTest {
+
+    @Nested
+    @DisplayName("HyperLogLog Tests")
+    class HyperLogLogTests {
+
+        @Test
+        @DisplayName("Should count small cardinalities almost exactly")
+        void shouldCountSmallCardinalities() {
+            HyperLogLog hll = new HyperLogLog(10);
+            for (int i = 0; i < 20; i++) {
+                hll.add(Hashing.hash64("user" + i + "@example.com"));
+                hll.add(Hashing.hash64("user" + i + "@example.com"));
+            }
+
+            assertThat(hll.estimate()).isBetween(19L, 21L);
+        }
+
+        @Test
+        @DisplayName("Should estimate large cardinalities within the standard error")
+        void shouldEstimateLargeCardinalities() {
+            HyperLogLog hll = new HyperLogLog(12);
+            for (int i = 0; i < 100_000; i++) {
+                hll.add(Hashing.hash64("user" + i + "@example.com"));
+            }
+
+            // 1.04 / sqrt(4096) is about 1.6%; allow three standard errors
+            assertThat((double) hll.estimate()).isCloseTo(100_000, within(5_000.0));
+        }
+
+        @Test
+        @DisplayName("Should reset on clear")
+        void shouldResetOnClear() {
+            HyperLogLog hll = new HyperLogLog(4);
+            hll.add(Hashing.hash64("john@example.com"));
+
+            hll.clear();
+
+            assertThat(hll.estimate()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("CountMinSketch Tests")
+    class CountMinSketchTests {
+
+        @Test
+        @DisplayName("Should never under-count")
+        void shouldNeverUnderCount() {
+            CountMinSketch sketch = new CountMinSketch(64, 4);
+            for (int i = 0; i < 1000; i++) {
+                sketch.increment(Hashing.hash64("key" + (i % 100)));
+            }
+
+            for (int i = 0; i < 100; i++) {
+                assertThat(sketch.estimate(Hashing.hash64("key" + i))).isGreaterThanOrEqualTo(10);
+            }
+        }
+
+        @Test
+        @DisplayName("Should halve counters on decay")
+        void shouldHalveOnDecay() {
+            CountMinSketch sketch = new CountMinSketch(1024, 4);
+            long hash = Hashing.hash64("203.0.113.7");
+            for (int i = 0; i < 9; i++) {
+                sketch.increment(hash);
+            }
+
+            sketch.halve();
+
+            assertThat(sketch.estimate(hash)).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("HeavyHitters Tests")
+    class HeavyHittersTests {
+
+        @Test
+        @DisplayName("Should keep frequent keys while churning through rare ones")
+        void shouldKeepFrequentKeys() {
+            HeavyHitters<int[]> hitters = new HeavyHitters<>(8, () -> new int[1], payload -> payload[0] = 0);
+            for (int i = 0; i < 1000; i++) {
+                hitters.increment("heavy");
+                hitters.increment("rare" + i);
+            }
+
+            assertThat(hitters.size()).isEqualTo(8);
+            assertThat(hitters.top(1).get(0).getKey()).isEqualTo("heavy");
+            assertThat(hitters.get("heavy").getCount()).isGreaterThanOrEqualTo(1000);
+        }
+
+        @Test
+        @DisplayName("Should forget keys whose count decays to zero")
+        void shouldForgetDecayedKeys() {
+            HeavyHitters<int[]> hitters = new HeavyHitters<>(4, () -> new int[1], payload -> payload[0] = 0);
+            hitters.increment("once");
+            hitters.increment("twice");
+            hitters.increment("twice");
+
+            hitters.decay();
+
+            assertThat(hitters.get("once")).isNull();
+            assertThat(hitters.get("twice").getCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("BloomFilter Tests")
+    class BloomFilterTests {
+
+        @Test
+        @DisplayName("Should always find added keys")
+        void shouldFindAddedKeys() {
+            BloomFilter filter = new BloomFilter(1000, 0.001);
+            for (int i = 0; i < 1000; i++) {
+                filter.put("jti-" + i);
+            }
+
+            for (int i = 0; i < 1000; i++) {
+                assertThat(filter.mightContain("jti-" + i)).isTrue();
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep false positives near the configured rate")
+        void shouldBoundFalsePositives() {
+            BloomFilter filter = new BloomFilter(10_000, 0.01);
+            for (int i = 0; i < 10_000; i++) {
+                filter.put("revoked-" + i);
+            }
+
+            int falsePositives = 0;
+            for (int i = 0; i < 100_000; i++) {
+                if (filter.mightContain("valid-" + i)) {
+                    falsePositives++;
+                }
+            }
+
+            assertThat(falsePositives).isLessThan(2_000);
+        }
+    }
+}